@@ -0,0 +1,34 @@
+package com.quarks.ecommerce.inventory_service.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores a long as its decimal digits, as Redis does for INCRBY and Lua {@code tonumber}.
+ */
+public class AsciiLongRedisSerializer implements RedisSerializer<Long> {
+
+    @Override
+    public byte[] serialize(Long value) {
+        return value == null ? null : Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public Long deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            throw new SerializationException("Value is not a decimal long", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return Long.class;
+    }
+}
@@ -0,0 +1,44 @@
+package com.quarks.ecommerce.inventory_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    // Static so the post-processor is registered before the DataSource bean is created
+    @Bean
+    public static BeanPostProcessor connectionGuardPostProcessor(ObjectProvider<InventoryProperties> inventoryProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                InventoryProperties.ConnectionGuard connectionGuard = inventoryProperties.getObject().getDatabase().getConnectionGuard();
+                if (!connectionGuard.isEnabled()) {
+                    return bean;
+                }
+                int maxConcurrent = connectionGuard.getMaxConcurrent();
+                if (maxConcurrent <= 0 && dataSource instanceof HikariDataSource hikariDataSource) {
+                    maxConcurrent = hikariDataSource.getMaximumPoolSize();
+                }
+                if (maxConcurrent <= 0) {
+                    log.warn("Connection guard enabled but no limit is known for data source '{}', leaving it unguarded", beanName);
+                    return bean;
+                }
+                log.info("Limiting data source '{}' to {} concurrent connections", beanName, maxConcurrent);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, connectionGuard.getAcquireTimeout());
+            }
+        };
+    }
+}
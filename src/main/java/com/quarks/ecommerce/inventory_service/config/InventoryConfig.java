@@ -0,0 +1,11 @@
+package com.quarks.ecommerce.inventory_service.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(InventoryProperties.class)
+public class InventoryConfig {
+}
@@ -0,0 +1,562 @@
+package com.quarks.ecommerce.inventory_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "inventory")
+public class InventoryProperties {
+
+    private final Reservation reservation = new Reservation();
+    private final InMemory inMemory = new InMemory();
+    private final NearCache nearCache = new NearCache();
+    private final CachePublish cachePublish = new CachePublish();
+    private final Database database = new Database();
+    private final Metrics metrics = new Metrics();
+    private final Outbox outbox = new Outbox();
+    private final AvailabilityStream availabilityStream = new AvailabilityStream();
+    private final SupplyImport supplyImport = new SupplyImport();
+    private final Coupons coupons = new Coupons();
+    private final SupplyAggregation supplyAggregation = new SupplyAggregation();
+    private final Availability availability = new Availability();
+
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    public InMemory getInMemory() {
+        return inMemory;
+    }
+
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public CachePublish getCachePublish() {
+        return cachePublish;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public AvailabilityStream getAvailabilityStream() {
+        return availabilityStream;
+    }
+
+    public SupplyImport getSupplyImport() {
+        return supplyImport;
+    }
+
+    public Coupons getCoupons() {
+        return coupons;
+    }
+
+    public SupplyAggregation getSupplyAggregation() {
+        return supplyAggregation;
+    }
+
+    public Availability getAvailability() {
+        return availability;
+    }
+
+    public enum ReservationMode {
+        /**
+         * Load the item, reserve in Java and rely on the @Version column to detect concurrent writers.
+         */
+        OPTIMISTIC,
+        /**
+         * Reserve with a single conditional UPDATE so concurrent reservers never conflict.
+         */
+        ATOMIC
+    }
+
+    public static class Reservation {
+        private ReservationMode mode = ReservationMode.OPTIMISTIC;
+        private int maxRetries = 3;
+        private int maxBatchLines = 100;
+        private final RedisGate redisGate = new RedisGate();
+        private final Expiry expiry = new Expiry();
+        private final Combining combining = new Combining();
+        private final Archive archive = new Archive();
+
+        public ReservationMode getMode() {
+            return mode;
+        }
+
+        public void setMode(ReservationMode mode) {
+            this.mode = mode;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public int getMaxBatchLines() {
+            return maxBatchLines;
+        }
+
+        public void setMaxBatchLines(int maxBatchLines) {
+            this.maxBatchLines = maxBatchLines;
+        }
+
+        public RedisGate getRedisGate() {
+            return redisGate;
+        }
+
+        public Expiry getExpiry() {
+            return expiry;
+        }
+
+        public Combining getCombining() {
+            return combining;
+        }
+
+        public Archive getArchive() {
+            return archive;
+        }
+    }
+
+    public static class Combining {
+        private boolean enabled = false;
+        private Duration window = Duration.ofMillis(2);
+        private int maxBatchSize = 256;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    public static class Expiry {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofMinutes(15);
+        private long tickMs = 1000;
+        private int wheelSize = 512;
+        private int batchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getTickMs() {
+            return tickMs;
+        }
+
+        public void setTickMs(long tickMs) {
+            this.tickMs = tickMs;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Archive {
+        private boolean enabled = true;
+        private int partitionDays = 7;
+        private int partitionsAhead = 2;
+        private Duration archiveAfter = Duration.ofDays(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPartitionDays() {
+            return partitionDays;
+        }
+
+        public void setPartitionDays(int partitionDays) {
+            this.partitionDays = partitionDays;
+        }
+
+        public int getPartitionsAhead() {
+            return partitionsAhead;
+        }
+
+        public void setPartitionsAhead(int partitionsAhead) {
+            this.partitionsAhead = partitionsAhead;
+        }
+
+        public Duration getArchiveAfter() {
+            return archiveAfter;
+        }
+
+        public void setArchiveAfter(Duration archiveAfter) {
+            this.archiveAfter = archiveAfter;
+        }
+    }
+
+    public static class RedisGate {
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class InMemory {
+        private int concurrencyLevel = 64;
+        private int maxPendingWrites = 100_000;
+
+        public int getConcurrencyLevel() {
+            return concurrencyLevel;
+        }
+
+        public void setConcurrencyLevel(int concurrencyLevel) {
+            this.concurrencyLevel = concurrencyLevel;
+        }
+
+        public int getMaxPendingWrites() {
+            return maxPendingWrites;
+        }
+
+        public void setMaxPendingWrites(int maxPendingWrites) {
+            this.maxPendingWrites = maxPendingWrites;
+        }
+    }
+
+    public static class NearCache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+    public static class CachePublish {
+        private int maxPendingRetries = 10_000;
+        private Duration ttl = Duration.ofMinutes(1);
+
+        public int getMaxPendingRetries() {
+            return maxPendingRetries;
+        }
+
+        public void setMaxPendingRetries(int maxPendingRetries) {
+            this.maxPendingRetries = maxPendingRetries;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class Database {
+        private final ConnectionGuard connectionGuard = new ConnectionGuard();
+
+        public ConnectionGuard getConnectionGuard() {
+            return connectionGuard;
+        }
+    }
+
+    public static class ConnectionGuard {
+        private boolean enabled = false;
+        private int maxConcurrent = 0;
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+    }
+
+    public static class Metrics {
+        private int hotSkuTopK = 10;
+
+        public int getHotSkuTopK() {
+            return hotSkuTopK;
+        }
+
+        public void setHotSkuTopK(int hotSkuTopK) {
+            this.hotSkuTopK = hotSkuTopK;
+        }
+    }
+
+    public static class Outbox {
+        private boolean relayEnabled = true;
+        private int relayBatchSize = 500;
+        private String streamKey = "inventory_events";
+        private long streamMaxLength = 1_000_000;
+
+        public boolean isRelayEnabled() {
+            return relayEnabled;
+        }
+
+        public void setRelayEnabled(boolean relayEnabled) {
+            this.relayEnabled = relayEnabled;
+        }
+
+        public int getRelayBatchSize() {
+            return relayBatchSize;
+        }
+
+        public void setRelayBatchSize(int relayBatchSize) {
+            this.relayBatchSize = relayBatchSize;
+        }
+
+        public String getStreamKey() {
+            return streamKey;
+        }
+
+        public void setStreamKey(String streamKey) {
+            this.streamKey = streamKey;
+        }
+
+        public long getStreamMaxLength() {
+            return streamMaxLength;
+        }
+
+        public void setStreamMaxLength(long streamMaxLength) {
+            this.streamMaxLength = streamMaxLength;
+        }
+    }
+
+    public static class AvailabilityStream {
+        private boolean enabled = true;
+        private int maxSubscribers = 50_000;
+        private int maxItemsPerSubscriber = 200;
+        private Duration timeout = Duration.ofMinutes(30);
+        private int sendThreads = 16;
+        private Duration sendTimeout = Duration.ofSeconds(10);
+        private Duration stallCheckInterval = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSubscribers() {
+            return maxSubscribers;
+        }
+
+        public void setMaxSubscribers(int maxSubscribers) {
+            this.maxSubscribers = maxSubscribers;
+        }
+
+        public int getMaxItemsPerSubscriber() {
+            return maxItemsPerSubscriber;
+        }
+
+        public void setMaxItemsPerSubscriber(int maxItemsPerSubscriber) {
+            this.maxItemsPerSubscriber = maxItemsPerSubscriber;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getSendThreads() {
+            return sendThreads;
+        }
+
+        public void setSendThreads(int sendThreads) {
+            this.sendThreads = sendThreads;
+        }
+
+        public Duration getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+
+        public Duration getStallCheckInterval() {
+            return stallCheckInterval;
+        }
+
+        public void setStallCheckInterval(Duration stallCheckInterval) {
+            this.stallCheckInterval = stallCheckInterval;
+        }
+    }
+
+    public static class SupplyImport {
+        private int chunkSize = 10_000;
+        private int maxReportedErrors = 1_000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class SupplyAggregation {
+        private int queueCapacity = 100_000;
+        private int maxBatchSize = 10_000;
+        private int maxAttempts = 5;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class Coupons {
+        private boolean invalidationEnabled = true;
+
+        public boolean isInvalidationEnabled() {
+            return invalidationEnabled;
+        }
+
+        public void setInvalidationEnabled(boolean invalidationEnabled) {
+            this.invalidationEnabled = invalidationEnabled;
+        }
+    }
+
+    public static class Availability {
+        private int maxBatchSize = 500;
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+}
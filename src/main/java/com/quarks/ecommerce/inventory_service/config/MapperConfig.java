@@ -1,13 +0,0 @@
-package com.quarks.ecommerce.inventory_service.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class MapperConfig {
-    @Bean
-    public ModelMapper getModelMapper(){
-        return new ModelMapper();
-    }
-}
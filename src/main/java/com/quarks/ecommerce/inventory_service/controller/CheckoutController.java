@@ -0,0 +1,38 @@
+package com.quarks.ecommerce.inventory_service.controller;
+
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import com.quarks.ecommerce.inventory_service.service.impl.CheckoutService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/carts")
+public class CheckoutController {
+
+    private final ObjectProvider<CheckoutService> checkoutService;
+
+    public CheckoutController(ObjectProvider<CheckoutService> checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    @PostMapping("/{cartId}/checkout")
+    public ResponseEntity<?> checkout(@PathVariable Long cartId) {
+        CheckoutService service = checkoutService.getIfAvailable();
+        if (service == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Checkout needs the jpa engine");
+        }
+        OrderDto order;
+        try {
+            order = service.checkout(cartId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (order.getOrderStatus() == OrderStatus.CANCELLED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(order);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+}
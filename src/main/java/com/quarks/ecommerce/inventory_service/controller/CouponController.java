@@ -0,0 +1,41 @@
+package com.quarks.ecommerce.inventory_service.controller;
+
+import com.quarks.ecommerce.inventory_service.dto.CouponDto;
+import com.quarks.ecommerce.inventory_service.service.impl.CouponService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping("/coupons")
+public class CouponController {
+
+    private final CouponService couponService;
+
+    public CouponController(CouponService couponService) {
+        this.couponService = couponService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> saveCoupon(@RequestBody CouponDto couponDto) {
+        try {
+            return ResponseEntity.ok(couponService.save(couponDto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{code}/apply")
+    public ResponseEntity<?> applyCoupon(@PathVariable String code, @RequestParam BigDecimal amount) {
+        if (amount.signum() < 0) {
+            return ResponseEntity.badRequest().body("amount must not be negative");
+        }
+        try {
+            return ResponseEntity.ok(couponService.apply(code, amount));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
@@ -1,19 +1,56 @@
 package com.quarks.ecommerce.inventory_service.controller;
 
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
 import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
 import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.dto.NearCacheStatsDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyImportResultDto;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepositoryCustom.ReservationKey;
 import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import com.quarks.ecommerce.inventory_service.service.impl.AvailabilityNearCache;
+import com.quarks.ecommerce.inventory_service.service.impl.AvailabilityStreamHub;
+import com.quarks.ecommerce.inventory_service.service.impl.KeysetPageWriter;
+import com.quarks.ecommerce.inventory_service.service.impl.SupplyAggregator;
+import com.quarks.ecommerce.inventory_service.service.impl.SupplyImporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/inventory")
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final AvailabilityNearCache nearCache;
+    private final AvailabilityStreamHub availabilityStreamHub;
+    private final ObjectProvider<SupplyImporter> supplyImporter;
+    private final ObjectProvider<SupplyAggregator> supplyAggregator;
+    private final KeysetPageWriter keysetPageWriter;
+    private final InventoryProperties inventoryProperties;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, AvailabilityNearCache nearCache, AvailabilityStreamHub availabilityStreamHub,
+                               ObjectProvider<SupplyImporter> supplyImporter, ObjectProvider<SupplyAggregator> supplyAggregator,
+                               KeysetPageWriter keysetPageWriter, InventoryProperties inventoryProperties) {
         this.inventoryService = inventoryService;
+        this.nearCache = nearCache;
+        this.availabilityStreamHub = availabilityStreamHub;
+        this.supplyImporter = supplyImporter;
+        this.supplyAggregator = supplyAggregator;
+        this.keysetPageWriter = keysetPageWriter;
+        this.inventoryProperties = inventoryProperties;
     }
 
     @PostMapping
@@ -22,6 +59,43 @@ public class InventoryController {
         return ResponseEntity.ok("Supply updated for item ID " + inventoryDto.getItemId() + ", available quantity: " + inventoryDto.getTotalQuantity());
     }
 
+    @PostMapping("/supply/async")
+    public ResponseEntity<String> queueSupply(@RequestBody CreateSupplyRequestDto createSupplyRequestDto) {
+        SupplyAggregator aggregator = supplyAggregator.getIfAvailable();
+        if (aggregator == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Queued supply needs the jpa engine");
+        }
+        try {
+            if (aggregator.submit(createSupplyRequestDto) == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Supply queue is full");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.accepted().body("Supply of " + createSupplyRequestDto.getQuantity() + " queued for item ID " + createSupplyRequestDto.getItemId());
+    }
+
+    @PostMapping(path = "/supply/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importSupplies(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        SupplyImporter importer = supplyImporter.getIfAvailable();
+        if (importer == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Bulk supply import needs the jpa engine");
+        }
+        SupplyImporter.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? SupplyImporter.Format.CSV : SupplyImporter.Format.NDJSON;
+        SupplyImportResultDto result = importer.importSupplies(body, format);
+        if (result.getStatus() == SupplyImportResultDto.Status.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/supply/import")
+    public ResponseEntity<List<SupplyImportResultDto>> getSupplyImports() {
+        SupplyImporter importer = supplyImporter.getIfAvailable();
+        return ResponseEntity.ok(importer == null ? List.of() : importer.imports());
+    }
+
     @PostMapping("/reserve")
     public ResponseEntity<String> reserveItem(@RequestParam Long itemId, @RequestParam int quantity, @RequestParam String reservedBy) {
         String token = inventoryService.reserveItem(itemId, quantity, reservedBy);
@@ -31,15 +105,96 @@ public class InventoryController {
         return ResponseEntity.ok(token);
     }
 
+    @PostMapping("/reserve/batch")
+    public ResponseEntity<?> reserveItems(@RequestBody BatchReservationRequestDto batchReservationRequestDto) {
+        if (batchReservationRequestDto.getItems() == null || batchReservationRequestDto.getItems().isEmpty()) {
+            return ResponseEntity.badRequest().body("No items to reserve");
+        }
+        int maxBatchLines = inventoryProperties.getReservation().getMaxBatchLines();
+        if (batchReservationRequestDto.getItems().size() > maxBatchLines) {
+            return ResponseEntity.badRequest().body("At most " + maxBatchLines + " lines per batch");
+        }
+        BatchReservationResponseDto response;
+        try {
+            response = inventoryService.reserveItems(batchReservationRequestDto);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (response == null) {
+            return ResponseEntity.badRequest().body("Insufficient Inventory");
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/cancel")
     public ResponseEntity<String> cancelReservation(@RequestParam String token) {
         return ResponseEntity.ok(inventoryService.cancelReservation(token));
     }
 
+    @GetMapping("/reservations")
+    public ResponseEntity<?> getReservations(@RequestParam(required = false) String reservedBy, @RequestParam(required = false) Long itemId,
+                                             @RequestParam(required = false) ReservationStatus status, @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit) {
+        int filters = (reservedBy == null ? 0 : 1) + (itemId == null ? 0 : 1) + (status == null ? 0 : 1);
+        if (filters != 1) {
+            return ResponseEntity.badRequest().body("Filter by exactly one of reservedBy, itemId or status");
+        }
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        ReservationKey key = reservedBy != null ? ReservationKey.RESERVED_BY : itemId != null ? ReservationKey.ITEM_ID : ReservationKey.STATUS;
+        Object value = reservedBy != null ? reservedBy : itemId != null ? itemId : status;
+        StreamingResponseBody body = out -> keysetPageWriter.writeReservations(key, value, after, limit, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{itemId}/availability")
     public ResponseEntity<Integer> getAvailability(@PathVariable Long itemId) {
         int getAvailableQuantity = inventoryService.getAvailability(itemId);
         return ResponseEntity.ok(getAvailableQuantity);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailabilities(@RequestParam List<Long> itemIds) {
+        return bulkAvailability(itemIds);
+    }
+
+    @PostMapping("/availability")
+    public ResponseEntity<?> getAvailabilitiesForBody(@RequestBody List<Long> itemIds) {
+        return bulkAvailability(itemIds);
+    }
+
+    @GetMapping(path = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailabilities(@RequestParam List<Long> itemIds) {
+        if (itemIds == null || itemIds.isEmpty() || itemIds.size() > availabilityStreamHub.getMaxItemsPerSubscriber()
+                || itemIds.size() > inventoryProperties.getAvailability().getMaxBatchSize()) {
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = availabilityStreamHub.subscribe(itemIds);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private ResponseEntity<?> bulkAvailability(List<Long> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            return ResponseEntity.badRequest().body("No item ids given");
+        }
+        int maxBatchSize = inventoryProperties.getAvailability().getMaxBatchSize();
+        if (itemIds.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("At most " + maxBatchSize + " item ids per request");
+        }
+        BulkAvailabilityResponseDto response = inventoryService.getAvailabilities(itemIds);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<NearCacheStatsDto> getNearCacheStats() {
+        return ResponseEntity.ok(nearCache.stats());
+    }
+
 }
@@ -0,0 +1,32 @@
+package com.quarks.ecommerce.inventory_service.controller;
+
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.service.impl.KeysetPageWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/users/{userId}/orders")
+public class OrderController {
+
+    private final KeysetPageWriter keysetPageWriter;
+
+    public OrderController(KeysetPageWriter keysetPageWriter) {
+        this.keysetPageWriter = keysetPageWriter;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getOrders(@PathVariable Long userId, @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer limit) {
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        StreamingResponseBody body = out -> keysetPageWriter.writeOrders(userId, after, limit, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,32 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import java.util.List;
+
+public class BatchReservationRequestDto {
+    private String reservedBy;
+    private List<ReservationLineDto> items;
+
+    public BatchReservationRequestDto() {
+    }
+
+    public BatchReservationRequestDto(String reservedBy, List<ReservationLineDto> items) {
+        this.reservedBy = reservedBy;
+        this.items = items;
+    }
+
+    public String getReservedBy() {
+        return reservedBy;
+    }
+
+    public void setReservedBy(String reservedBy) {
+        this.reservedBy = reservedBy;
+    }
+
+    public List<ReservationLineDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReservationLineDto> items) {
+        this.items = items;
+    }
+}
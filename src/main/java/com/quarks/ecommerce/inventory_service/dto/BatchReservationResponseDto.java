@@ -0,0 +1,32 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import java.util.List;
+
+public class BatchReservationResponseDto {
+    private String groupToken;
+    private List<String> reservationTokens;
+
+    public BatchReservationResponseDto() {
+    }
+
+    public BatchReservationResponseDto(String groupToken, List<String> reservationTokens) {
+        this.groupToken = groupToken;
+        this.reservationTokens = reservationTokens;
+    }
+
+    public String getGroupToken() {
+        return groupToken;
+    }
+
+    public void setGroupToken(String groupToken) {
+        this.groupToken = groupToken;
+    }
+
+    public List<String> getReservationTokens() {
+        return reservationTokens;
+    }
+
+    public void setReservationTokens(List<String> reservationTokens) {
+        this.reservationTokens = reservationTokens;
+    }
+}
@@ -0,0 +1,33 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class BulkAvailabilityResponseDto {
+    private Map<Long, Integer> availabilities;
+    private List<Long> notFoundItemIds;
+
+    public BulkAvailabilityResponseDto() {
+    }
+
+    public BulkAvailabilityResponseDto(Map<Long, Integer> availabilities, List<Long> notFoundItemIds) {
+        this.availabilities = availabilities;
+        this.notFoundItemIds = notFoundItemIds;
+    }
+
+    public Map<Long, Integer> getAvailabilities() {
+        return availabilities;
+    }
+
+    public void setAvailabilities(Map<Long, Integer> availabilities) {
+        this.availabilities = availabilities;
+    }
+
+    public List<Long> getNotFoundItemIds() {
+        return notFoundItemIds;
+    }
+
+    public void setNotFoundItemIds(List<Long> notFoundItemIds) {
+        this.notFoundItemIds = notFoundItemIds;
+    }
+}
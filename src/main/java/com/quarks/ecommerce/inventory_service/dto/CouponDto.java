@@ -0,0 +1,55 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import com.quarks.ecommerce.inventory_service.entity.enums.DiscountType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class CouponDto {
+    private String code;
+    private DiscountType discountType;
+    private BigDecimal discountValue;
+    private LocalDateTime expiryDate;
+
+    public CouponDto() {
+    }
+
+    public CouponDto(String code, DiscountType discountType, BigDecimal discountValue, LocalDateTime expiryDate) {
+        this.code = code;
+        this.discountType = discountType;
+        this.discountValue = discountValue;
+        this.expiryDate = expiryDate;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public DiscountType getDiscountType() {
+        return discountType;
+    }
+
+    public void setDiscountType(DiscountType discountType) {
+        this.discountType = discountType;
+    }
+
+    public BigDecimal getDiscountValue() {
+        return discountValue;
+    }
+
+    public void setDiscountValue(BigDecimal discountValue) {
+        this.discountValue = discountValue;
+    }
+
+    public LocalDateTime getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(LocalDateTime expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+}
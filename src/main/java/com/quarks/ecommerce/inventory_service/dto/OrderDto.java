@@ -0,0 +1,77 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class OrderDto {
+    private Long id;
+    private Long userId;
+    private OrderStatus orderStatus;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private UUID reservationToken;
+    private List<OrderItemDto> items;
+
+    public OrderDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public void setOrderStatus(OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public UUID getReservationToken() {
+        return reservationToken;
+    }
+
+    public void setReservationToken(UUID reservationToken) {
+        this.reservationToken = reservationToken;
+    }
+
+    public List<OrderItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItemDto> items) {
+        this.items = items;
+    }
+}
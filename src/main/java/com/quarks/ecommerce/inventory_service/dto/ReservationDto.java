@@ -0,0 +1,84 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ReservationDto {
+    private Long id;
+    private UUID reservationToken;
+    private Long itemId;
+    private int quantity;
+    private ReservationStatus reservationStatus;
+    private String reservedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    public ReservationDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UUID getReservationToken() {
+        return reservationToken;
+    }
+
+    public void setReservationToken(UUID reservationToken) {
+        this.reservationToken = reservationToken;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public ReservationStatus getReservationStatus() {
+        return reservationStatus;
+    }
+
+    public void setReservationStatus(ReservationStatus reservationStatus) {
+        this.reservationStatus = reservationStatus;
+    }
+
+    public String getReservedBy() {
+        return reservedBy;
+    }
+
+    public void setReservedBy(String reservedBy) {
+        this.reservedBy = reservedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+public class ReservationLineDto {
+    private Long itemId;
+    private int quantity;
+
+    public ReservationLineDto() {
+    }
+
+    public ReservationLineDto(Long itemId, int quantity) {
+        this.itemId = itemId;
+        this.quantity = quantity;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,36 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import java.util.List;
+
+public class ShoppingCartDto {
+    private Long id;
+    private Long userId;
+    private List<CartItemDto> items;
+
+    public ShoppingCartDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<CartItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CartItemDto> items) {
+        this.items = items;
+    }
+}
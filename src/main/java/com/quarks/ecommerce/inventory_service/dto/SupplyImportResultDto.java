@@ -0,0 +1,122 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SupplyImportResultDto {
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private String importId;
+    private Status status;
+    private String format;
+    private LocalDateTime startedAt;
+    private long elapsedMillis;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long itemsUpserted;
+    private int chunksCommitted;
+    private String failure;
+    private List<SupplyImportErrorDto> errors;
+
+    public SupplyImportResultDto() {
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public long getItemsUpserted() {
+        return itemsUpserted;
+    }
+
+    public void setItemsUpserted(long itemsUpserted) {
+        this.itemsUpserted = itemsUpserted;
+    }
+
+    public int getChunksCommitted() {
+        return chunksCommitted;
+    }
+
+    public void setChunksCommitted(int chunksCommitted) {
+        this.chunksCommitted = chunksCommitted;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    public List<SupplyImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<SupplyImportErrorDto> errors) {
+        this.errors = errors;
+    }
+}
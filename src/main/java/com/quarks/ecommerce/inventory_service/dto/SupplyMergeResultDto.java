@@ -0,0 +1,53 @@
+package com.quarks.ecommerce.inventory_service.dto;
+
+/**
+ * Outcome of a queued supply delta: the flush that wrote it and every other delta for the same item merged with it.
+ */
+public class SupplyMergeResultDto {
+    private Long itemId;
+    private int deltasMerged;
+    private int quantityAdded;
+    private int availableQuantity;
+
+    public SupplyMergeResultDto() {
+    }
+
+    public SupplyMergeResultDto(Long itemId, int deltasMerged, int quantityAdded, int availableQuantity) {
+        this.itemId = itemId;
+        this.deltasMerged = deltasMerged;
+        this.quantityAdded = quantityAdded;
+        this.availableQuantity = availableQuantity;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public int getDeltasMerged() {
+        return deltasMerged;
+    }
+
+    public void setDeltasMerged(int deltasMerged) {
+        this.deltasMerged = deltasMerged;
+    }
+
+    public int getQuantityAdded() {
+        return quantityAdded;
+    }
+
+    public void setQuantityAdded(int quantityAdded) {
+        this.quantityAdded = quantityAdded;
+    }
+
+    public int getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(int availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+}
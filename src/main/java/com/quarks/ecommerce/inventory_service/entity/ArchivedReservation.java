@@ -0,0 +1,65 @@
+package com.quarks.ecommerce.inventory_service.entity;
+
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A cancelled or expired reservation moved out of the partitioned reservation table.
+ */
+@Entity
+@Immutable
+@Table(name = "reservation_archive")
+public class ArchivedReservation {
+    @Id
+    private UUID reservationToken;
+
+    private UUID groupToken;
+
+    @Column(nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus reservationStatus;
+
+    @Column(nullable = false)
+    private String reservedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public UUID getReservationToken() {
+        return reservationToken;
+    }
+
+    public UUID getGroupToken() {
+        return groupToken;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public ReservationStatus getReservationStatus() {
+        return reservationStatus;
+    }
+
+    public String getReservedBy() {
+        return reservedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
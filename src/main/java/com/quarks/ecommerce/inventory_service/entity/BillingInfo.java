@@ -11,20 +11,23 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@NamedEntityGraph(name = BillingInfo.WITH_ADDRESS, attributeNodes = @NamedAttributeNode("billingAddress"))
 public class BillingInfo {
+    public static final String WITH_ADDRESS = "BillingInfo.withAddress";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "billing_info_seq")
+    @SequenceGenerator(name = "billing_info_seq", sequenceName = "billing_info_seq", allocationSize = 50)
     private Long id;
     private String cardNumber;
     private String expiry;
     private String cvv;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id",referencedColumnName = "id")
     private User user;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private UserAddress billingAddress;
 
 }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Getter
@@ -17,10 +18,16 @@ import java.time.LocalDateTime;
 @Entity
 public class Coupon {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupon_seq")
+    @SequenceGenerator(name = "coupon_seq", sequenceName = "coupon_seq", allocationSize = 50)
     private Long id;
+    @Column(nullable = false, unique = true)
     private String code;
     @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
     private DiscountType discountType;
+    // Percent off for PERCENTAGE, amount off for FLAT
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal discountValue;
     private LocalDateTime expiryDate;
 }
@@ -0,0 +1,105 @@
+package com.quarks.ecommerce.inventory_service.entity;
+
+import com.quarks.ecommerce.inventory_service.entity.enums.InventoryEventType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row describing one stock change; the id orders events of the same item.
+ */
+@Entity
+@Table(name = "inventory_outbox")
+public class InventoryEvent {
+    @Id
+    // Identity, not pooled: ids must follow insert order
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InventoryEventType eventType;
+
+    @Column(nullable = false)
+    private int quantityDelta;
+
+    @Column(nullable = false)
+    private int availableQuantity;
+
+    private UUID reservationToken;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public InventoryEvent() {
+    }
+
+    public InventoryEvent(Long itemId, InventoryEventType eventType, int quantityDelta, int availableQuantity, UUID reservationToken, LocalDateTime createdAt) {
+        this.itemId = itemId;
+        this.eventType = eventType;
+        this.quantityDelta = quantityDelta;
+        this.availableQuantity = availableQuantity;
+        this.reservationToken = reservationToken;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public InventoryEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(InventoryEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public int getQuantityDelta() {
+        return quantityDelta;
+    }
+
+    public void setQuantityDelta(int quantityDelta) {
+        this.quantityDelta = quantityDelta;
+    }
+
+    public int getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public void setAvailableQuantity(int availableQuantity) {
+        this.availableQuantity = availableQuantity;
+    }
+
+    public UUID getReservationToken() {
+        return reservationToken;
+    }
+
+    public void setReservationToken(UUID reservationToken) {
+        this.reservationToken = reservationToken;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 @Entity
 public class InventoryItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_item_seq")
+    @SequenceGenerator(name = "inventory_item_seq", sequenceName = "inventory_item_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false, unique = true)
     private Long itemId;
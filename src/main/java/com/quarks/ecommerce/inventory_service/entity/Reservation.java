@@ -4,11 +4,19 @@ import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_reservation_status_expires_at", columnList = "reservationStatus, expiresAt"),
+        @Index(name = "idx_reservation_reserved_by_created_at", columnList = "reservedBy, createdAt, id"),
+        @Index(name = "idx_reservation_item_id_created_at", columnList = "itemId, createdAt, id"),
+        @Index(name = "idx_reservation_status_created_at", columnList = "reservationStatus, createdAt, id")
+})
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -23,10 +31,18 @@ public class Reservation {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    private LocalDateTime expiresAt;
+
     @Column(nullable = false)
     private String reservedBy;
     @Column(nullable = false, unique = true)
-    private String reservationToken;
+    private UUID reservationToken;
+
+    private UUID groupToken;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 
     public Long getId() {
         return id;
@@ -68,6 +84,14 @@ public class Reservation {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
     public String getReservedBy() {
         return reservedBy;
     }
@@ -76,11 +100,27 @@ public class Reservation {
         this.reservedBy = reservedBy;
     }
 
-    public String getReservationToken() {
+    public UUID getReservationToken() {
         return reservationToken;
     }
 
-    public void setReservationToken(String reservationToken) {
+    public void setReservationToken(UUID reservationToken) {
         this.reservationToken = reservationToken;
     }
+
+    public UUID getGroupToken() {
+        return groupToken;
+    }
+
+    public void setGroupToken(UUID groupToken) {
+        this.groupToken = groupToken;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -13,7 +13,8 @@ import lombok.Setter;
 @Entity
 public class UserAddress {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_address_seq")
+    @SequenceGenerator(name = "user_address_seq", sequenceName = "user_address_seq", allocationSize = 50)
     private Long id;
     private String addressLine;
     private String city;
@@ -21,7 +22,7 @@ public class UserAddress {
     private String postalCode;
     private String country;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id",referencedColumnName = "id")
     private User user;
 
@@ -0,0 +1,5 @@
+package com.quarks.ecommerce.inventory_service.entity.enums;
+
+public enum InventoryEventType {
+    SUPPLY_ADDED,RESERVED,CANCELLED,EXPIRED
+}
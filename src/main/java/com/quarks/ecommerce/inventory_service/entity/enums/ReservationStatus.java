@@ -1,5 +1,5 @@
 package com.quarks.ecommerce.inventory_service.entity.enums;
 
 public enum ReservationStatus {
-    RESERVED,CANCELLED
+    RESERVED,CANCELLED,EXPIRED
 }
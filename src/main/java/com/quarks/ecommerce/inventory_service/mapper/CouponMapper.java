@@ -0,0 +1,16 @@
+package com.quarks.ecommerce.inventory_service.mapper;
+
+import com.quarks.ecommerce.inventory_service.dto.CouponDto;
+import com.quarks.ecommerce.inventory_service.entity.Coupon;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = "spring")
+public interface CouponMapper {
+
+    CouponDto toDto(Coupon coupon);
+
+    @Mapping(target = "id", ignore = true)
+    void update(CouponDto couponDto, @MappingTarget Coupon coupon);
+}
@@ -0,0 +1,11 @@
+package com.quarks.ecommerce.inventory_service.mapper;
+
+import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface InventoryMapper {
+
+    InventoryDto toDto(InventoryItem inventoryItem);
+}
@@ -0,0 +1,17 @@
+package com.quarks.ecommerce.inventory_service.mapper;
+
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.dto.OrderItemDto;
+import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.OrderItem;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface OrderMapper {
+
+    @Mapping(target = "userId", source = "user.id")
+    OrderDto toDto(Order order);
+
+    OrderItemDto toDto(OrderItem orderItem);
+}
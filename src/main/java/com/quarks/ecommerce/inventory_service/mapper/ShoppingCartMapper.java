@@ -0,0 +1,17 @@
+package com.quarks.ecommerce.inventory_service.mapper;
+
+import com.quarks.ecommerce.inventory_service.dto.CartItemDto;
+import com.quarks.ecommerce.inventory_service.dto.ShoppingCartDto;
+import com.quarks.ecommerce.inventory_service.entity.CartItem;
+import com.quarks.ecommerce.inventory_service.entity.ShoppingCart;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface ShoppingCartMapper {
+
+    @Mapping(target = "userId", source = "user.id")
+    ShoppingCartDto toDto(ShoppingCart shoppingCart);
+
+    CartItemDto toDto(CartItem cartItem);
+}
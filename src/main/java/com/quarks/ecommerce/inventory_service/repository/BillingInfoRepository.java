@@ -1,9 +1,14 @@
 package com.quarks.ecommerce.inventory_service.repository;
 
 import com.quarks.ecommerce.inventory_service.entity.BillingInfo;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface BillingInfoRepository extends JpaRepository<BillingInfo,Long> {
+    @EntityGraph(BillingInfo.WITH_ADDRESS)
+    Optional<BillingInfo> findByUserId(Long userId);
 }
@@ -2,8 +2,14 @@ package com.quarks.ecommerce.inventory_service.repository;
 
 import com.quarks.ecommerce.inventory_service.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem,Long> {
+    @Modifying
+    @Query("DELETE FROM CartItem c WHERE c.cart.id = :cartId")
+    int deleteByCartId(@Param("cartId") Long cartId);
 }
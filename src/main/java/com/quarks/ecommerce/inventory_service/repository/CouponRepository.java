@@ -2,8 +2,18 @@ package com.quarks.ecommerce.inventory_service.repository;
 
 import com.quarks.ecommerce.inventory_service.entity.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CouponRepository extends JpaRepository<Coupon,Long> {
+    Optional<Coupon> findByCode(String code);
+
+    @Query("SELECT c FROM Coupon c WHERE c.expiryDate IS NULL OR c.expiryDate > :now")
+    List<Coupon> findActive(@Param("now") LocalDateTime now);
 }
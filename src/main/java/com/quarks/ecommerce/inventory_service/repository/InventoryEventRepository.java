@@ -0,0 +1,9 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventoryEventRepository extends JpaRepository<InventoryEvent, Long>, InventoryEventRepositoryCustom {
+}
@@ -0,0 +1,15 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+
+import java.util.List;
+
+public interface InventoryEventRepositoryCustom {
+
+    void batchInsert(List<InventoryEvent> events);
+
+    /**
+     * Oldest outbox rows, locked until the calling transaction ends.
+     */
+    List<InventoryEvent> lockOldest(int limit);
+}
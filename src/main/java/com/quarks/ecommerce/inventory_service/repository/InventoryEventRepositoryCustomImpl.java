@@ -0,0 +1,49 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+import com.quarks.ecommerce.inventory_service.entity.enums.InventoryEventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+public class InventoryEventRepositoryCustomImpl implements InventoryEventRepositoryCustom {
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO inventory_outbox (item_id, event_type, quantity_delta, available_quantity, reservation_token, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String LOCK_OLDEST_SQL =
+            "SELECT id, item_id, event_type, quantity_delta, available_quantity, reservation_token, created_at " +
+                    "FROM inventory_outbox ORDER BY id LIMIT ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryEventRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<InventoryEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getItemId());
+            ps.setString(2, event.getEventType().name());
+            ps.setInt(3, event.getQuantityDelta());
+            ps.setInt(4, event.getAvailableQuantity());
+            ps.setObject(5, event.getReservationToken());
+            ps.setTimestamp(6, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+
+    @Override
+    public List<InventoryEvent> lockOldest(int limit) {
+        return jdbcTemplate.query(LOCK_OLDEST_SQL, (rs, rowNum) -> {
+            InventoryEvent event = new InventoryEvent(rs.getLong("item_id"), InventoryEventType.valueOf(rs.getString("event_type")),
+                    rs.getInt("quantity_delta"), rs.getInt("available_quantity"), rs.getObject("reservation_token", UUID.class),
+                    rs.getTimestamp("created_at").toLocalDateTime());
+            event.setId(rs.getLong("id"));
+            return event;
+        }, limit);
+    }
+}
@@ -2,11 +2,34 @@ package com.quarks.ecommerce.inventory_service.repository;
 
 import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryItemRepository extends JpaRepository<InventoryItem,Long> {
+public interface InventoryItemRepository extends JpaRepository<InventoryItem,Long>, InventoryItemRepositoryCustom {
     Optional<InventoryItem> findByItemId(Long itemId);
+
+    List<InventoryItem> findByItemIdIn(Collection<Long> itemIds);
+
+    boolean existsByItemId(Long itemId);
+
+    // Returns 0 when the item is missing or short on stock
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.reservedQuantity = i.reservedQuantity + :quantity, i.version = i.version + 1 " +
+            "WHERE i.itemId = :itemId AND i.totalQuantity - i.reservedQuantity >= :quantity")
+    int reserveStock(@Param("itemId") Long itemId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.totalQuantity = i.totalQuantity + :totalDelta, i.reservedQuantity = i.reservedQuantity + :reservedDelta, " +
+            "i.version = i.version + 1 WHERE i.itemId = :itemId")
+    int adjustStock(@Param("itemId") Long itemId, @Param("totalDelta") int totalDelta, @Param("reservedDelta") int reservedDelta);
+
+    @Query("SELECT i.totalQuantity - i.reservedQuantity FROM InventoryItem i WHERE i.itemId = :itemId")
+    Optional<Integer> findAvailableQuantityByItemId(@Param("itemId") Long itemId);
 }
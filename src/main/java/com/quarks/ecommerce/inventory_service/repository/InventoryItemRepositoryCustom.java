@@ -0,0 +1,28 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryItemRepositoryCustom {
+    /**
+     * Adds the supplies to their items, creating missing ones. Items that would overflow are left out of the result.
+     */
+    Map<Long, Integer> upsertSupplies(List<CreateSupplyRequestDto> supplies, LocalDateTime now);
+
+    /**
+     * Like {@link #upsertSupplies} for small batches with at most one supply per item, in one statement.
+     */
+    Map<Long, Integer> addSupplies(Collection<CreateSupplyRequestDto> supplies, LocalDateTime now);
+
+    /**
+     * Reserves every item or none; the reservation rows are left to the caller.
+     *
+     * @return available quantity per item, empty if any item was unknown or short
+     */
+    Map<Long, Integer> reserveAll(List<Reservation> reservations, LocalDateTime now);
+}
@@ -0,0 +1,173 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InventoryItemRepositoryCustomImpl implements InventoryItemRepositoryCustom {
+
+    private static final String INVENTORY_ITEM_SEQUENCE = "inventory_item_seq";
+
+    // Session-local and emptied on commit, so a pooled connection can reuse it for the next chunk
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS supply_import_staging (id bigint NOT NULL, item_id bigint NOT NULL, name text NOT NULL, quantity integer NOT NULL) " +
+                    "ON COMMIT DELETE ROWS";
+
+    private static final String COPY_STAGING_SQL = "COPY supply_import_staging (id, item_id, name, quantity) FROM STDIN WITH (FORMAT csv)";
+
+    // Rows are merged per item first, ON CONFLICT cannot touch the same row twice in one statement, and upserted in
+    // item order so concurrent imports lock rows in the same order. Ids staged for items that already exist go unused.
+    private static final String UPSERT_STAGED_SQL =
+            // Summed as bigint; items whose sum or new total would not fit an integer are left out of the result
+            "WITH staged AS (" +
+                    "  SELECT MIN(id) AS id, item_id, MIN(name) AS name, SUM(quantity) AS quantity FROM supply_import_staging" +
+                    "  GROUP BY item_id HAVING SUM(quantity) <= 2147483647" +
+                    "), upserted AS (" +
+                    "  INSERT INTO inventory_item (id, item_id, name, total_quantity, reserved_quantity, version)" +
+                    "  SELECT id, item_id, name, quantity::integer, 0, 0 FROM staged ORDER BY item_id" +
+                    "  ON CONFLICT (item_id) DO UPDATE SET total_quantity = inventory_item.total_quantity + EXCLUDED.total_quantity," +
+                    "  version = inventory_item.version + 1" +
+                    "  WHERE inventory_item.total_quantity::bigint + EXCLUDED.total_quantity <= 2147483647" +
+                    "  RETURNING item_id, total_quantity - reserved_quantity AS available_quantity" +
+                    "), events AS (" +
+                    "  INSERT INTO inventory_outbox (item_id, event_type, quantity_delta, available_quantity, reservation_token, created_at)" +
+                    "  SELECT u.item_id, 'SUPPLY_ADDED', s.quantity::integer, u.available_quantity, NULL, ?" +
+                    "  FROM upserted u JOIN staged s ON s.item_id = u.item_id" +
+                    ") " +
+                    "SELECT item_id, available_quantity FROM upserted";
+
+    // Same upsert as for staged rows, fed from arrays bound as parameters; the caller already merged rows per item
+    private static final String ADD_SUPPLIES_SQL =
+            "WITH supplied AS (" +
+                    "  SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::text[], ?::integer[]) AS s (id, item_id, name, quantity)" +
+                    "), upserted AS (" +
+                    "  INSERT INTO inventory_item (id, item_id, name, total_quantity, reserved_quantity, version)" +
+                    "  SELECT id, item_id, name, quantity, 0, 0 FROM supplied ORDER BY item_id" +
+                    "  ON CONFLICT (item_id) DO UPDATE SET total_quantity = inventory_item.total_quantity + EXCLUDED.total_quantity," +
+                    "  version = inventory_item.version + 1" +
+                    "  RETURNING item_id, total_quantity - reserved_quantity AS available_quantity" +
+                    "), events AS (" +
+                    "  INSERT INTO inventory_outbox (item_id, event_type, quantity_delta, available_quantity, reservation_token, created_at)" +
+                    "  SELECT u.item_id, 'SUPPLY_ADDED', s.quantity, u.available_quantity, NULL, ?" +
+                    "  FROM upserted u JOIN supplied s ON s.item_id = u.item_id" +
+                    ") " +
+                    "SELECT item_id, available_quantity FROM upserted";
+
+    // Rows are locked in item order before anything is checked, so concurrent checkouts cannot deadlock, and the
+    // update only runs when no requested item is missing or short
+    private static final String RESERVE_ALL_SQL =
+            "WITH requested AS (" +
+                    "  SELECT item_id, quantity, reservation_token FROM unnest(?::bigint[], ?::integer[], ?::uuid[]) AS r (item_id, quantity, reservation_token)" +
+                    "), locked AS (" +
+                    "  SELECT i.item_id, i.total_quantity - i.reserved_quantity AS available_quantity" +
+                    "  FROM inventory_item i JOIN requested r ON r.item_id = i.item_id ORDER BY i.item_id FOR UPDATE OF i" +
+                    "), short AS (" +
+                    "  SELECT r.item_id FROM requested r LEFT JOIN locked l ON l.item_id = r.item_id" +
+                    "  WHERE l.item_id IS NULL OR l.available_quantity < r.quantity" +
+                    "), updated AS (" +
+                    "  UPDATE inventory_item i SET reserved_quantity = i.reserved_quantity + r.quantity, version = i.version + 1" +
+                    "  FROM requested r WHERE i.item_id = r.item_id AND NOT EXISTS (SELECT 1 FROM short)" +
+                    "  RETURNING i.item_id, r.quantity, r.reservation_token, i.total_quantity - i.reserved_quantity AS available_quantity" +
+                    "), events AS (" +
+                    "  INSERT INTO inventory_outbox (item_id, event_type, quantity_delta, available_quantity, reservation_token, created_at)" +
+                    "  SELECT item_id, 'RESERVED', -quantity, available_quantity, reservation_token, ? FROM updated" +
+                    ") " +
+                    "SELECT item_id, available_quantity FROM updated";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryItemRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<Long, Integer> upsertSupplies(List<CreateSupplyRequestDto> supplies, LocalDateTime now) {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        long[] ids = PooledSequence.nextIds(jdbcTemplate, INVENTORY_ITEM_SEQUENCE, supplies.size());
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING_SQL, new StringReader(toCsv(supplies, ids)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        Map<Long, Integer> availabilities = new HashMap<>();
+        jdbcTemplate.query(UPSERT_STAGED_SQL, rs -> {
+            availabilities.put(rs.getLong(1), Math.max(0, rs.getInt(2)));
+        }, Timestamp.valueOf(now));
+        return availabilities;
+    }
+
+    @Override
+    public Map<Long, Integer> addSupplies(Collection<CreateSupplyRequestDto> supplies, LocalDateTime now) {
+        long[] ids = PooledSequence.nextIds(jdbcTemplate, INVENTORY_ITEM_SEQUENCE, supplies.size());
+        Long[] rowIds = new Long[supplies.size()];
+        Long[] itemIds = new Long[supplies.size()];
+        String[] names = new String[supplies.size()];
+        Integer[] quantities = new Integer[supplies.size()];
+        int i = 0;
+        for (CreateSupplyRequestDto supply : supplies) {
+            rowIds[i] = ids[i];
+            itemIds[i] = supply.getItemId();
+            names[i] = supply.getName();
+            quantities[i++] = supply.getQuantity();
+        }
+
+        Map<Long, Integer> availabilities = new HashMap<>();
+        jdbcTemplate.query(ADD_SUPPLIES_SQL, rs -> {
+            availabilities.put(rs.getLong(1), Math.max(0, rs.getInt(2)));
+        }, rowIds, itemIds, names, quantities, Timestamp.valueOf(now));
+        return availabilities;
+    }
+
+    @Override
+    public Map<Long, Integer> reserveAll(List<Reservation> reservations, LocalDateTime now) {
+        Object[] itemIds = new Object[reservations.size()];
+        Object[] amounts = new Object[reservations.size()];
+        Object[] tokens = new Object[reservations.size()];
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            itemIds[i] = reservation.getItemId();
+            amounts[i] = reservation.getQuantity();
+            tokens[i] = reservation.getReservationToken();
+        }
+
+        Map<Long, Integer> availabilities = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RESERVE_ALL_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", itemIds));
+            ps.setArray(2, connection.createArrayOf("integer", amounts));
+            ps.setArray(3, connection.createArrayOf("uuid", tokens));
+            ps.setTimestamp(4, Timestamp.valueOf(now));
+            return ps;
+        }, rs -> {
+            availabilities.put(rs.getLong(1), rs.getInt(2));
+        });
+        return availabilities;
+    }
+
+    static String toCsv(List<CreateSupplyRequestDto> supplies, long[] ids) {
+        StringBuilder csv = new StringBuilder(supplies.size() * 40);
+        for (int i = 0; i < supplies.size(); i++) {
+            CreateSupplyRequestDto supply = supplies.get(i);
+            csv.append(ids[i]).append(',').append(supply.getItemId()).append(',')
+                    .append('"').append(supply.getName().replace("\"", "\"\"")).append('"').append(',')
+                    .append(supply.getQuantity()).append('\n');
+        }
+        return csv.toString();
+    }
+}
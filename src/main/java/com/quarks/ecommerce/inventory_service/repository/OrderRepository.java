@@ -1,9 +1,24 @@
 package com.quarks.ecommerce.inventory_service.repository;
 
 import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order,Long> {
+public interface OrderRepository extends JpaRepository<Order,Long>, OrderRepositoryCustom {
+    @EntityGraph(Order.WITH_ITEMS)
+    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    boolean existsByCartIdAndOrderStatus(Long cartId, OrderStatus orderStatus);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :status WHERE o.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") OrderStatus status);
 }
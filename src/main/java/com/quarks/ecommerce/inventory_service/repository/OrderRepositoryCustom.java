@@ -0,0 +1,14 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+
+import java.util.function.Consumer;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * @return cursor after the last order handed to {@code sink}, or null if there are no more
+     */
+    KeysetCursor streamOrders(Long userId, KeysetCursor after, int limit, Consumer<? super OrderDto> sink);
+}
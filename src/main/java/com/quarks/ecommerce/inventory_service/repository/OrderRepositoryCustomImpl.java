@@ -0,0 +1,79 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.dto.OrderItemDto;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // The page of orders is picked by a seek on (user_id, created_at, id) and only then joined to its items, so the
+    // LIMIT counts orders rather than item rows. Rows of one order arrive together, in page order.
+    private static final String ORDERS_PAGE_SQL =
+            "SELECT o.id, o.order_status, o.total_amount, o.created_at, o.reservation_token, i.id, i.product_id, i.quantity, i.price " +
+                    "FROM (SELECT id, order_status, total_amount, created_at, reservation_token FROM orders " +
+                    "      WHERE user_id = ?%s ORDER BY created_at DESC, id DESC LIMIT ?) o " +
+                    "LEFT JOIN order_item i ON i.order_id = o.id " +
+                    "ORDER BY o.created_at DESC, o.id DESC, i.id";
+    private static final String AFTER_CURSOR = " AND (created_at, id) < (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public KeysetCursor streamOrders(Long userId, KeysetCursor after, int limit, Consumer<? super OrderDto> sink) {
+        String sql = ORDERS_PAGE_SQL.formatted(after == null ? "" : AFTER_CURSOR);
+        // The order being assembled is handed out once a row of the next one shows up, or after the last row
+        OrderDto[] current = new OrderDto[1];
+        int[] orders = new int[1];
+        jdbcTemplate.query(sql, ps -> {
+            int index = 1;
+            ps.setLong(index++, userId);
+            if (after != null) {
+                ps.setTimestamp(index++, Timestamp.valueOf(after.getCreatedAt()));
+                ps.setLong(index++, after.getId());
+            }
+            ps.setInt(index, limit);
+        }, rs -> {
+            long orderId = rs.getLong(1);
+            if (current[0] == null || current[0].getId() != orderId) {
+                if (current[0] != null) {
+                    sink.accept(current[0]);
+                }
+                OrderDto order = new OrderDto();
+                order.setId(orderId);
+                order.setUserId(userId);
+                String status = rs.getString(2);
+                order.setOrderStatus(status == null ? null : OrderStatus.valueOf(status));
+                order.setTotalAmount(rs.getBigDecimal(3));
+                order.setCreatedAt(rs.getTimestamp(4).toLocalDateTime());
+                order.setReservationToken(rs.getObject(5, UUID.class));
+                order.setItems(new ArrayList<>());
+                current[0] = order;
+                orders[0]++;
+            }
+            long itemId = rs.getLong(6);
+            if (!rs.wasNull()) {
+                OrderItemDto item = new OrderItemDto();
+                item.setId(itemId);
+                item.setProductId(rs.getLong(7));
+                item.setQuantity(rs.getInt(8));
+                item.setPrice(rs.getBigDecimal(9));
+                current[0].getItems().add(item);
+            }
+        });
+        if (current[0] != null) {
+            sink.accept(current[0]);
+        }
+        return orders[0] < limit ? null : new KeysetCursor(current[0].getCreatedAt(), current[0].getId());
+    }
+}
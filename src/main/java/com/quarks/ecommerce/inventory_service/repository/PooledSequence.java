@@ -0,0 +1,40 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Hands out sequence ids to rows written with plain SQL the way Hibernate's pooled optimizer does, one
+ * {@code nextval} per block of {@link #ALLOCATION_SIZE} ids.
+ */
+final class PooledSequence {
+
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final String NEXT_VALUES_SQL = "SELECT nextval(?) FROM generate_series(1, ?)";
+
+    private PooledSequence() {
+    }
+
+    static long[] nextIds(JdbcTemplate jdbcTemplate, String sequenceName, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        List<Long> blockEnds = jdbcTemplate.queryForList(NEXT_VALUES_SQL, Long.class, sequenceName, (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE);
+        int next = 0;
+        for (long blockEnd : blockEnds) {
+            // The very first value of a sequence is 1, its block has no ids below it
+            for (long id = Math.max(1, blockEnd - ALLOCATION_SIZE + 1); id <= blockEnd && next < count; id++) {
+                ids[next++] = id;
+            }
+        }
+        if (next < count) {
+            long[] rest = nextIds(jdbcTemplate, sequenceName, count - next);
+            System.arraycopy(rest, 0, ids, next, rest.length);
+        }
+        return ids;
+    }
+}
@@ -1,12 +1,32 @@
 package com.quarks.ecommerce.inventory_service.repository;
 
 import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation,Long> {
-    Optional<Reservation> findByReservationToken(String token);
+public interface ReservationRepository extends JpaRepository<Reservation,Long>, ReservationRepositoryCustom {
+    // Pass ReservationTokens.createdAt(token) so only one partition is searched
+    Optional<Reservation> findByReservationTokenAndCreatedAt(UUID token, LocalDateTime createdAt);
+
+    @Query("SELECT a.reservationStatus FROM ArchivedReservation a WHERE a.reservationToken = :token")
+    Optional<ReservationStatus> findArchivedStatus(@Param("token") UUID token);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.reservationStatus = :status, r.version = r.version + 1 WHERE r.reservationToken IN :tokens")
+    int updateStatusByTokens(@Param("tokens") Collection<UUID> tokens, @Param("status") ReservationStatus status);
+
+    @Query("SELECT r.reservationToken FROM Reservation r WHERE r.reservationStatus = :status AND r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<UUID> findTokensByStatusAndExpiresAtBefore(@Param("status") ReservationStatus status, @Param("now") LocalDateTime now, Pageable pageable);
 }
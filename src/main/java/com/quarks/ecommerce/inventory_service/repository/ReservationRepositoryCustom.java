@@ -0,0 +1,57 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.dto.ReservationDto;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface ReservationRepositoryCustom {
+
+    enum ReservationKey {
+        RESERVED_BY("reserved_by"),
+        ITEM_ID("item_id"),
+        STATUS("reservation_status");
+
+        private final String column;
+
+        ReservationKey(String column) {
+            this.column = column;
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+
+    void batchInsert(List<Reservation> reservations);
+
+    /**
+     * @return new available quantity per item that released stock
+     */
+    Map<Long, Integer> expireReservations(Collection<UUID> tokens, LocalDateTime now);
+
+    /**
+     * Partition start day to end day (exclusive), without the default partition.
+     */
+    NavigableMap<LocalDate, LocalDate> findPartitions();
+
+    void createPartition(LocalDate from, LocalDate to);
+
+    /**
+     * @return number of reservations archived, or -1 if the partition still holds RESERVED rows and was kept
+     */
+    long archivePartition(LocalDate from, LocalDate to);
+
+    /**
+     * @return cursor after the last row handed to {@code sink}, or null if there are no more
+     */
+    KeysetCursor streamReservations(ReservationKey key, Object value, KeysetCursor after, int limit, Consumer<? super ReservationDto> sink);
+}
@@ -0,0 +1,182 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.dto.ReservationDto;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+
+    private static final String RESERVATION_SEQUENCE = "reservation_seq";
+
+    private static final String INSERT_RESERVATION_SQL =
+            "INSERT INTO reservation (id, item_id, quantity, reservation_status, created_at, expires_at, reserved_by, reservation_token, group_token, version) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Postgres data-modifying CTE: flip the rows, sum what they held per item, release it and append one outbox
+    // event per expired reservation, all in one round trip
+    private static final String EXPIRE_RESERVATIONS_SQL =
+            "WITH expired AS (" +
+                    "  UPDATE reservation SET reservation_status = 'EXPIRED', version = version + 1" +
+                    "  WHERE reservation_token = ANY (?) AND reservation_status = 'RESERVED' AND expires_at <= ?" +
+                    "  RETURNING item_id, quantity, reservation_token" +
+                    "), released AS (" +
+                    "  SELECT item_id, SUM(quantity) AS quantity FROM expired GROUP BY item_id" +
+                    "), updated AS (" +
+                    "  UPDATE inventory_item i SET reserved_quantity = i.reserved_quantity - r.quantity, version = i.version + 1" +
+                    "  FROM released r WHERE i.item_id = r.item_id" +
+                    "  RETURNING i.item_id, i.total_quantity - i.reserved_quantity AS available_quantity" +
+                    "), events AS (" +
+                    "  INSERT INTO inventory_outbox (item_id, event_type, quantity_delta, available_quantity, reservation_token, created_at)" +
+                    "  SELECT e.item_id, 'EXPIRED', e.quantity, u.available_quantity, e.reservation_token, ?" +
+                    "  FROM expired e JOIN updated u ON u.item_id = e.item_id" +
+                    ") " +
+                    "SELECT item_id, available_quantity FROM updated";
+
+    // Partition names carry their range, reservation_p<from>_<to>; only names built here are ever put into DDL
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern PARTITION_NAME = Pattern.compile("reservation_p(\\d{8})_(\\d{8})");
+
+    private static final String FIND_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits i " +
+                    "JOIN pg_class parent ON parent.oid = i.inhparent " +
+                    "JOIN pg_class child ON child.oid = i.inhrelid " +
+                    "WHERE parent.relname = 'reservation'";
+
+    private static final String ARCHIVE_PARTITION_SQL =
+            "INSERT INTO reservation_archive (reservation_token, group_token, item_id, quantity, reservation_status, reserved_by, created_at) " +
+                    "SELECT reservation_token, group_token, item_id, quantity, reservation_status, reserved_by, created_at FROM %s " +
+                    "ON CONFLICT (reservation_token) DO NOTHING";
+
+    // Seek instead of OFFSET: the row-value predicate starts the index scan right after the cursor, so deep pages
+    // cost the same as the first. created_at also lets Postgres skip partitions newer than the cursor.
+    private static final String RESERVATIONS_PAGE_SQL =
+            "SELECT id, reservation_token, item_id, quantity, reservation_status, reserved_by, created_at, expires_at " +
+                    "FROM reservation WHERE %s = ?%s ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String AFTER_CURSOR = " AND (created_at, id) < (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReservationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<Reservation> reservations) {
+        long[] ids = PooledSequence.nextIds(jdbcTemplate, RESERVATION_SEQUENCE, reservations.size());
+        for (int i = 0; i < ids.length; i++) {
+            reservations.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_RESERVATION_SQL, reservations, reservations.size(), (ps, reservation) -> {
+            ps.setLong(1, reservation.getId());
+            ps.setLong(2, reservation.getItemId());
+            ps.setInt(3, reservation.getQuantity());
+            ps.setString(4, reservation.getReservationStatus().name());
+            ps.setTimestamp(5, Timestamp.valueOf(reservation.getCreatedAt()));
+            ps.setTimestamp(6, reservation.getExpiresAt() == null ? null : Timestamp.valueOf(reservation.getExpiresAt()));
+            ps.setString(7, reservation.getReservedBy());
+            ps.setObject(8, reservation.getReservationToken());
+            ps.setObject(9, reservation.getGroupToken());
+        });
+    }
+
+    @Override
+    public Map<Long, Integer> expireReservations(Collection<UUID> tokens, LocalDateTime now) {
+        Map<Long, Integer> availabilities = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPIRE_RESERVATIONS_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", tokens.toArray()));
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            ps.setTimestamp(3, Timestamp.valueOf(now));
+            return ps;
+        }, rs -> {
+            availabilities.put(rs.getLong(1), Math.max(0, rs.getInt(2)));
+        });
+        return availabilities;
+    }
+
+    @Override
+    public NavigableMap<LocalDate, LocalDate> findPartitions() {
+        NavigableMap<LocalDate, LocalDate> partitions = new TreeMap<>();
+        for (String name : jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                partitions.put(LocalDate.parse(matcher.group(1), PARTITION_DAY), LocalDate.parse(matcher.group(2), PARTITION_DAY));
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    public void createPartition(LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(from, to) + " PARTITION OF reservation " +
+                "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    @Override
+    public long archivePartition(LocalDate from, LocalDate to) {
+        String partition = partitionName(from, to);
+        // SHARE mode lets lookups through and holds off inserts and status changes until the partition is gone
+        jdbcTemplate.execute("LOCK TABLE " + partition + " IN SHARE MODE");
+        Boolean open = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE reservation_status = 'RESERVED')", Boolean.class);
+        if (Boolean.TRUE.equals(open)) {
+            return -1;
+        }
+        long archived = jdbcTemplate.update(ARCHIVE_PARTITION_SQL.formatted(partition));
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        return archived;
+    }
+
+    @Override
+    public KeysetCursor streamReservations(ReservationKey key, Object value, KeysetCursor after, int limit, Consumer<? super ReservationDto> sink) {
+        String sql = RESERVATIONS_PAGE_SQL.formatted(key.column(), after == null ? "" : AFTER_CURSOR);
+        ReservationDto[] last = new ReservationDto[1];
+        int[] rows = new int[1];
+        jdbcTemplate.query(sql, ps -> {
+            int index = 1;
+            ps.setObject(index++, value instanceof ReservationStatus status ? status.name() : value);
+            if (after != null) {
+                ps.setTimestamp(index++, Timestamp.valueOf(after.getCreatedAt()));
+                ps.setLong(index++, after.getId());
+            }
+            ps.setInt(index, limit);
+        }, rs -> {
+            ReservationDto reservation = new ReservationDto();
+            reservation.setId(rs.getLong(1));
+            reservation.setReservationToken(rs.getObject(2, UUID.class));
+            reservation.setItemId(rs.getLong(3));
+            reservation.setQuantity(rs.getInt(4));
+            reservation.setReservationStatus(ReservationStatus.valueOf(rs.getString(5)));
+            reservation.setReservedBy(rs.getString(6));
+            reservation.setCreatedAt(rs.getTimestamp(7).toLocalDateTime());
+            Timestamp expiresAt = rs.getTimestamp(8);
+            reservation.setExpiresAt(expiresAt == null ? null : expiresAt.toLocalDateTime());
+            sink.accept(reservation);
+            last[0] = reservation;
+            rows[0]++;
+        });
+        return rows[0] < limit ? null : new KeysetCursor(last[0].getCreatedAt(), last[0].getId());
+    }
+
+    private static String partitionName(LocalDate from, LocalDate to) {
+        return "reservation_p" + PARTITION_DAY.format(from) + "_" + PARTITION_DAY.format(to);
+    }
+}
@@ -1,9 +1,25 @@
 package com.quarks.ecommerce.inventory_service.repository;
 
 import com.quarks.ecommerce.inventory_service.entity.ShoppingCart;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart,Long> {
+    @Query("SELECT DISTINCT c FROM ShoppingCart c LEFT JOIN FETCH c.items WHERE c.id = :id")
+    Optional<ShoppingCart> findWithItemsById(@Param("id") Long id);
+
+    // Without the items: Postgres refuses to lock the nullable side of a fetch join
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ShoppingCart> findForUpdateById(Long id);
+
+    @EntityGraph(ShoppingCart.WITH_ITEMS)
+    Optional<ShoppingCart> findByUserId(Long userId);
 }
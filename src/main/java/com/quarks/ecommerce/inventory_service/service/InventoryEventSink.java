@@ -0,0 +1,12 @@
+package com.quarks.ecommerce.inventory_service.service;
+
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. A sink that throws will see the same events again.
+ */
+public interface InventoryEventSink {
+    void publish(List<InventoryEvent> events);
+}
@@ -1,16 +1,28 @@
 package com.quarks.ecommerce.inventory_service.service;
 
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
 import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
 import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
 import org.reactivestreams.Publisher;
 
+import java.util.List;
+import java.util.UUID;
+
 public interface InventoryService {
 
     InventoryDto createOrUpdateSupply(CreateSupplyRequestDto createSupplyRequestDto);
 
     String reserveItem(Long itemId,int quantity,String reservedBy);
 
+    BatchReservationResponseDto reserveItems(BatchReservationRequestDto batchReservationRequestDto);
+
     String cancelReservation(String reservationToken);
 
+    void expireReservations(List<UUID> reservationTokens);
+
     int getAvailability(Long itemId);
+
+    BulkAvailabilityResponseDto getAvailabilities(List<Long> itemIds);
 }
@@ -0,0 +1,163 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes the Redis availability keys of changed items after commit, so the next read fills them from the database.
+ * Values written after commit could arrive out of order. Failed deletes are replayed on a schedule.
+ */
+@Component
+public class AvailabilityCachePublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityCachePublisher.class);
+
+    static final String INVENTORY_CACHE_PREFIX = "inventory_availability:";
+
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final AvailabilityNearCache nearCache;
+    private final InventoryProperties inventoryProperties;
+    // Item id to the stamp of its latest failed delete, so a replay only clears what it sent
+    private final Map<Long, Long> pendingRetries = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+
+    public AvailabilityCachePublisher(RedisTemplate<String, Long> redisTemplate, AvailabilityNearCache nearCache, InventoryProperties inventoryProperties) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    public void publish(Long itemId, int availableQuantity) {
+        publishAll(Map.of(itemId, availableQuantity));
+    }
+
+    public void publishAll(Map<Long, Integer> availabilities) {
+        if (availabilities.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(availabilities.keySet());
+            nearCache.updateAll(availabilities);
+            return;
+        }
+
+        PendingBatch batch = currentBatch();
+        if (batch == null) {
+            batch = new PendingBatch();
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.availabilities.putAll(availabilities);
+    }
+
+    private PendingBatch currentBatch() {
+        // Synchronizations are suspended with their transaction, so a REQUIRES_NEW inner transaction gets its own batch
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBatch batch && batch.owner() == this) {
+                return batch;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fills Redis with values just read from the database; they expire after {@code ttl}.
+     */
+    @SuppressWarnings("unchecked")
+    public void backfill(Map<Long, Integer> availabilities) {
+        if (availabilities.isEmpty()) {
+            return;
+        }
+        Duration ttl = inventoryProperties.getCachePublish().getTtl();
+        try {
+            if (availabilities.size() == 1) {
+                Map.Entry<Long, Integer> entry = availabilities.entrySet().iterator().next();
+                redisTemplate.opsForValue().set(INVENTORY_CACHE_PREFIX + entry.getKey(), entry.getValue().longValue(), ttl);
+                return;
+            }
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Long> redisOperations = (RedisOperations<String, Long>) operations;
+                    availabilities.forEach((itemId, availableQuantity) ->
+                            redisOperations.opsForValue().set(INVENTORY_CACHE_PREFIX + itemId, availableQuantity.longValue(), ttl));
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not backfill {} availability cache entries to Redis", availabilities.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.cache-publish.retry-interval-ms:1000}")
+    public void retryFailed() {
+        if (pendingRetries.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> retries = new HashMap<>(pendingRetries);
+        if (delete(retries.keySet())) {
+            // Only the stamps just sent; a delete that failed meanwhile stays parked for the next round
+            retries.forEach((itemId, stamp) -> pendingRetries.remove(itemId, stamp));
+            log.info("Replayed {} availability cache deletes after a Redis failure", retries.size());
+        }
+    }
+
+    int pendingRetryCount() {
+        return pendingRetries.size();
+    }
+
+    private void invalidate(Collection<Long> itemIds) {
+        if (delete(itemIds)) {
+            return;
+        }
+        int maxPendingRetries = inventoryProperties.getCachePublish().getMaxPendingRetries();
+        for (Long itemId : itemIds) {
+            if (pendingRetries.size() >= maxPendingRetries && !pendingRetries.containsKey(itemId)) {
+                log.warn("Availability cache retry queue is full, dropping delete for item {}", itemId);
+                continue;
+            }
+            pendingRetries.put(itemId, stamps.incrementAndGet());
+        }
+    }
+
+    private boolean delete(Collection<Long> itemIds) {
+        List<String> keys = itemIds.stream().map(itemId -> INVENTORY_CACHE_PREFIX + itemId).toList();
+        try {
+            redisTemplate.delete(keys);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not delete {} availability cache entries in Redis, will retry", keys.size(), e);
+            return false;
+        }
+    }
+
+    private final class PendingBatch implements TransactionSynchronization {
+        private final Map<Long, Integer> availabilities = new LinkedHashMap<>();
+
+        private AvailabilityCachePublisher owner() {
+            return AvailabilityCachePublisher.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            invalidate(availabilities.keySet());
+            nearCache.updateAll(availabilities);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.NearCacheStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-process copy of the Redis availability keys. Stock changes are published on
+ * {@link #INVALIDATION_CHANNEL} so other nodes drop their entries; the messages also feed the
+ * {@link AvailabilityStreamHub}.
+ */
+@Component
+public class AvailabilityNearCache implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityNearCache.class);
+
+    static final String INVALIDATION_CHANNEL = "inventory_availability_invalidation";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean enabled;
+    private final boolean publishChanges;
+    private final Cache<Long, Integer> cache;
+    // Lets a node ignore its own invalidations, it already holds the value it just wrote
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public AvailabilityNearCache(RedisTemplate<String, Object> redisTemplate, InventoryProperties inventoryProperties,
+                                 ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        InventoryProperties.NearCache nearCache = inventoryProperties.getNearCache();
+        this.redisTemplate = redisTemplate;
+        this.enabled = nearCache.isEnabled();
+        this.publishChanges = enabled || inventoryProperties.getAvailabilityStream().isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(nearCache.getMaximumSize())
+                .expireAfterWrite(nearCache.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        if (enabled) {
+            listenerContainer.ifAvailable(container -> container.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Integer get(Long itemId) {
+        return enabled ? cache.getIfPresent(itemId) : null;
+    }
+
+    public void put(Long itemId, int availableQuantity) {
+        if (enabled) {
+            cache.put(itemId, availableQuantity);
+        }
+    }
+
+    public void update(Long itemId, int availableQuantity) {
+        if (enabled) {
+            cache.put(itemId, availableQuantity);
+        }
+        if (publishChanges) {
+            publishInvalidation(List.of(itemId));
+        }
+    }
+
+    public void updateAll(Map<Long, Integer> availabilities) {
+        if (availabilities.isEmpty()) {
+            return;
+        }
+        if (enabled) {
+            cache.putAll(availabilities);
+        }
+        if (publishChanges) {
+            publishInvalidation(availabilities.keySet());
+        }
+    }
+
+    private void publishInvalidation(Collection<Long> itemIds) {
+        String payload = nodeId + ":" + itemIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, payload);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to expire-after-write, the write itself already succeeded
+            log.warn("Could not publish near cache invalidation for items {}", itemIds, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof String payload)) {
+            return;
+        }
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        cache.invalidateAll(changedItemIds(payload));
+    }
+
+    static List<Long> changedItemIds(String payload) {
+        int separator = payload.indexOf(':');
+        List<Long> itemIds = new ArrayList<>();
+        for (String itemId : payload.substring(separator + 1).split(",")) {
+            if (!itemId.isEmpty()) {
+                itemIds.add(Long.valueOf(itemId));
+            }
+        }
+        return itemIds;
+    }
+
+    public NearCacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return new NearCacheStatsDto(stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate(), cache.estimatedSize());
+    }
+}
@@ -0,0 +1,358 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pushes availability changes heard on {@link AvailabilityNearCache#INVALIDATION_CHANNEL} to server-sent event
+ * subscribers. Changes are collected and read once per dispatch; each subscriber has at most one write in flight.
+ */
+@Component
+public class AvailabilityStreamHub implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityStreamHub.class);
+
+    static final String EVENT_NAME = "availability";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectProvider<InventoryService> inventoryService;
+    private final Executor sendExecutor;
+    private ScheduledExecutorService watchdog;
+    private final InventoryProperties.AvailabilityStream properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> subscribersByItem = new ConcurrentHashMap<>();
+    private final Set<Long> changedItemIds = ConcurrentHashMap.newKeySet();
+
+    // The service is looked up lazily, it depends on the near cache that publishes what this listens to
+    @Autowired
+    public AvailabilityStreamHub(RedisTemplate<String, Object> redisTemplate, ObjectProvider<InventoryService> inventoryService,
+                                 InventoryProperties inventoryProperties, ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this(redisTemplate, inventoryService, newSendExecutor(inventoryProperties.getAvailabilityStream()), inventoryProperties, listenerContainer);
+        if (properties.isEnabled()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("availability-stream-watchdog-");
+            threadFactory.setDaemon(true);
+            long interval = Math.max(1, properties.getStallCheckInterval().toMillis());
+            watchdog = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            watchdog.scheduleWithFixedDelay(this::closeStalled, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    AvailabilityStreamHub(RedisTemplate<String, Object> redisTemplate, ObjectProvider<InventoryService> inventoryService,
+                          Executor sendExecutor, InventoryProperties inventoryProperties,
+                          ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.inventoryService = inventoryService;
+        this.sendExecutor = sendExecutor;
+        this.properties = inventoryProperties.getAvailabilityStream();
+        if (properties.isEnabled()) {
+            listenerContainer.ifAvailable(container -> container.addMessageListener(this, new ChannelTopic(AvailabilityNearCache.INVALIDATION_CHANNEL)));
+        }
+    }
+
+    private static ExecutorService newSendExecutor(InventoryProperties.AvailabilityStream properties) {
+        int threads = Math.max(1, properties.getSendThreads());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("availability-stream-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, properties.getMaxSubscribers())), threadFactory);
+    }
+
+    public int getMaxItemsPerSubscriber() {
+        return properties.getMaxItemsPerSubscriber();
+    }
+
+    /**
+     * @return the emitter to return from the handler, or null when streaming is disabled or the node is full
+     */
+    public SseEmitter subscribe(Collection<Long> itemIds) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        return register(emitter, itemIds) ? emitter : null;
+    }
+
+    boolean register(SseEmitter emitter, Collection<Long> itemIds) {
+        if (!properties.isEnabled() || subscribers.size() >= properties.getMaxSubscribers()) {
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(itemIds));
+        subscribers.add(subscriber);
+        for (Long itemId : subscriber.itemIds) {
+            subscribersByItem.compute(itemId, (id, itemSubscribers) -> {
+                Set<Subscriber> updated = itemSubscribers == null ? ConcurrentHashMap.newKeySet() : itemSubscribers;
+                updated.add(subscriber);
+                return updated;
+            });
+        }
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+
+        // Registered before the read, so no change made in between is missed
+        Map<Long, Integer> availabilities;
+        try {
+            availabilities = inventoryService.getObject().getAvailabilities(List.copyOf(subscriber.itemIds)).getAvailabilities();
+        } catch (RuntimeException e) {
+            subscriber.close(e);
+            throw e;
+        }
+        subscriber.offer(availabilities);
+        return true;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long itemId : subscriber.itemIds) {
+            subscribersByItem.computeIfPresent(itemId, (id, itemSubscribers) -> {
+                itemSubscribers.remove(subscriber);
+                return itemSubscribers.isEmpty() ? null : itemSubscribers;
+            });
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof String payload) || payload.indexOf(':') < 0) {
+            return;
+        }
+        for (Long itemId : AvailabilityNearCache.changedItemIds(payload)) {
+            if (subscribersByItem.containsKey(itemId)) {
+                changedItemIds.add(itemId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.availability-stream.dispatch-interval-ms:200}")
+    public void dispatch() {
+        if (changedItemIds.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = new ArrayList<>();
+        for (Iterator<Long> iterator = changedItemIds.iterator(); iterator.hasNext(); ) {
+            itemIds.add(iterator.next());
+            iterator.remove();
+        }
+        Map<Long, Integer> availabilities;
+        try {
+            availabilities = inventoryService.getObject().getAvailabilities(itemIds).getAvailabilities();
+        } catch (RuntimeException e) {
+            // Put them back, the next dispatch tries again with whatever else changed meanwhile
+            changedItemIds.addAll(itemIds);
+            log.warn("Could not read availability for {} streamed items", itemIds.size(), e);
+            return;
+        }
+
+        Map<Subscriber, Map<Long, Integer>> updates = new LinkedHashMap<>();
+        availabilities.forEach((itemId, availableQuantity) -> {
+            for (Subscriber subscriber : subscribersByItem.getOrDefault(itemId, Set.of())) {
+                updates.computeIfAbsent(subscriber, s -> new LinkedHashMap<>()).put(itemId, availableQuantity);
+            }
+        });
+        updates.forEach(Subscriber::offer);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.availability-stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    // The emitter is locked for the whole write, so the blocked thread is interrupted and completes it itself
+    void closeStalled() {
+        long now = System.nanoTime();
+        long timeout = properties.getSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.stalled(now, timeout)) {
+                log.debug("Closing availability stream, a send has been blocked for longer than {}", properties.getSendTimeout());
+                subscriber.close(new TimeoutException("Availability stream send timed out"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.close(null);
+        }
+        if (sendExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> itemIds;
+        // Guarded by this; newer values replace queued ones for the same item
+        private final Map<Long, Integer> pending = new LinkedHashMap<>();
+        private boolean heartbeatDue;
+        private boolean sending;
+        private boolean closed;
+        private Throwable closeFailure;
+        // The thread blocked in a write and System.nanoTime() when that write started
+        private Thread sendThread;
+        private long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, Set<Long> itemIds) {
+            this.emitter = emitter;
+            this.itemIds = itemIds;
+        }
+
+        private void offer(Map<Long, Integer> availabilities) {
+            if (availabilities.isEmpty()) {
+                return;
+            }
+            synchronized (this) {
+                pending.putAll(availabilities);
+            }
+            scheduleSend();
+        }
+
+        private synchronized boolean stalled(long now, long timeoutNanos) {
+            return sendThread != null && now - sendStartedAt >= timeoutNanos;
+        }
+
+        private void close(Throwable failure) {
+            boolean completeNow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                closeFailure = failure;
+                if (sendThread != null) {
+                    sendThread.interrupt();
+                }
+                // A queued drain finds closed set and completes the emitter
+                completeNow = !sending;
+                sending = true;
+            }
+            unregister(this);
+            if (completeNow) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (closeFailure != null) {
+                emitter.completeWithError(closeFailure);
+            } else {
+                emitter.complete();
+            }
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            scheduleSend();
+        }
+
+        private void scheduleSend() {
+            synchronized (this) {
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    sending = false;
+                }
+                log.warn("Availability stream send was rejected, will retry with the next update", e);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    if (closed) {
+                        break;
+                    }
+                    if (!pending.isEmpty()) {
+                        event = SseEmitter.event().name(EVENT_NAME).data(new LinkedHashMap<>(pending), MediaType.APPLICATION_JSON);
+                        pending.clear();
+                        heartbeatDue = false;
+                    } else if (heartbeatDue) {
+                        event = SseEmitter.event().comment("heartbeat");
+                        heartbeatDue = false;
+                    } else {
+                        sending = false;
+                        return;
+                    }
+                }
+                synchronized (this) {
+                    sendThread = Thread.currentThread();
+                    sendStartedAt = System.nanoTime();
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client is gone; sending stays set so nothing else is queued for it
+                    log.debug("Dropping availability stream subscriber after a failed send", e);
+                    boolean closing;
+                    synchronized (this) {
+                        closing = closed;
+                        closed = true;
+                    }
+                    unregister(this);
+                    if (closing) {
+                        // The write was interrupted by close(), which left the completion to this thread
+                        complete();
+                    }
+                    return;
+                } finally {
+                    synchronized (this) {
+                        sendThread = null;
+                        // An interrupt from close() is meant for this write only, not the pool's next task
+                        Thread.interrupted();
+                    }
+                }
+            }
+            complete();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.entity.CartItem;
+import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.OrderItem;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.ShoppingCart;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import com.quarks.ecommerce.inventory_service.mapper.OrderMapper;
+import com.quarks.ecommerce.inventory_service.repository.CartItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.OrderRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.repository.ShoppingCartRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a shopping cart into an order: a PENDING order is committed first, then every item is reserved
+ * all-or-nothing under the order's group token. Checkout reservations do not expire.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "jpa", matchIfMissing = true)
+public class CheckoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckoutService.class);
+
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final OrderRepository orderRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ReservationRepository reservationRepository;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityCachePublisher cachePublisher;
+    private final RedisStockGate stockGate;
+
+    public CheckoutService(ShoppingCartRepository shoppingCartRepository, CartItemRepository cartItemRepository, OrderRepository orderRepository,
+                           InventoryItemRepository inventoryItemRepository, ReservationRepository reservationRepository, OrderMapper orderMapper,
+                           PlatformTransactionManager transactionManager, AvailabilityCachePublisher cachePublisher, RedisStockGate stockGate) {
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.orderRepository = orderRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.reservationRepository = reservationRepository;
+        this.orderMapper = orderMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cachePublisher = cachePublisher;
+        this.stockGate = stockGate;
+    }
+
+    /**
+     * @return the order, COMPLETE when all of the cart's stock was reserved and CANCELLED otherwise
+     * @throws IllegalArgumentException if the cart is empty, is already being checked out, or a line has no product
+     * or a quantity below one
+     */
+    public OrderDto checkout(Long cartId) {
+        Order order = transactionTemplate.execute(status -> {
+            shoppingCartRepository.findForUpdateById(cartId);
+            if (orderRepository.existsByCartIdAndOrderStatus(cartId, OrderStatus.PENDING)) {
+                throw new IllegalArgumentException("Shopping cart " + cartId + " is already being checked out");
+            }
+            ShoppingCart cart = shoppingCartRepository.findWithItemsById(cartId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found with id: " + cartId));
+            if (cart.getItems() == null || cart.getItems().isEmpty()) {
+                throw new IllegalArgumentException("Shopping cart " + cartId + " is empty");
+            }
+            for (CartItem item : cart.getItems()) {
+                if (item.getProductId() == null) {
+                    throw new IllegalArgumentException("Shopping cart " + cartId + " has a line without a product");
+                }
+                if (item.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Quantity must be positive, shopping cart " + cartId + " has "
+                            + item.getQuantity() + " of product " + item.getProductId());
+                }
+            }
+            Order pending = toPendingOrder(cart);
+            pending.setCartId(cartId);
+            return orderRepository.save(pending);
+        });
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        List<Reservation> reservations = toReservations(order, quantities);
+
+        Map<Long, Integer> availabilities;
+        try {
+            availabilities = transactionTemplate.execute(status -> {
+                shoppingCartRepository.findForUpdateById(cartId);
+                Map<Long, Integer> reserved = inventoryItemRepository.reserveAll(reservations, LocalDateTime.now());
+                if (reserved.isEmpty()) {
+                    orderRepository.updateStatus(order.getId(), OrderStatus.CANCELLED);
+                    return reserved;
+                }
+                reservationRepository.batchInsert(reservations);
+                orderRepository.updateStatus(order.getId(), OrderStatus.COMPLETE);
+                cartItemRepository.deleteByCartId(cartId);
+                cachePublisher.publishAll(reserved);
+                return reserved;
+            });
+        } catch (RuntimeException e) {
+            cancel(order, e);
+            throw e;
+        }
+
+        if (availabilities.isEmpty()) {
+            order.setOrderStatus(OrderStatus.CANCELLED);
+            log.info("Checkout of cart {} cancelled order {}, stock is short for at least one of {} items", cartId, order.getId(), quantities.size());
+        } else {
+            order.setOrderStatus(OrderStatus.COMPLETE);
+            if (stockGate.isEnabled()) {
+                Map<Long, Integer> taken = new LinkedHashMap<>();
+                quantities.forEach((itemId, quantity) -> taken.put(itemId, -quantity));
+                stockGate.adjustExisting(taken);
+            }
+        }
+        return orderMapper.toDto(order);
+    }
+
+    // The reservation step rolled back as a whole, so nothing is held and the order only has to leave PENDING
+    private void cancel(Order order, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderRepository.updateStatus(order.getId(), OrderStatus.CANCELLED));
+            order.setOrderStatus(OrderStatus.CANCELLED);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+            log.error("Could not cancel order {} after its reservation failed, it stays PENDING", order.getId(), e);
+        }
+    }
+
+    private static List<Reservation> toReservations(Order order, Map<Long, Integer> quantities) {
+        String reservedBy = "order:" + order.getId();
+        List<Reservation> reservations = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> quantity : quantities.entrySet()) {
+            Reservation reservation = new Reservation();
+            reservation.setItemId(quantity.getKey());
+            reservation.setQuantity(quantity.getValue());
+            reservation.setReservationStatus(ReservationStatus.RESERVED);
+            reservation.setReservationToken(ReservationTokens.next());
+            reservation.setCreatedAt(ReservationTokens.createdAt(reservation.getReservationToken()));
+            reservation.setReservedBy(reservedBy);
+            reservation.setGroupToken(order.getReservationToken());
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+
+    static Order toPendingOrder(ShoppingCart cart) {
+        Order order = new Order();
+        order.setUser(cart.getUser());
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setReservationToken(ReservationTokens.next());
+        List<OrderItem> items = new ArrayList<>(cart.getItems().size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItem cartItem : cart.getItems()) {
+            OrderItem item = new OrderItem();
+            item.setProductId(cartItem.getProductId());
+            item.setQuantity(cartItem.getQuantity());
+            item.setPrice(cartItem.getPrice());
+            item.setOrder(order);
+            items.add(item);
+            if (cartItem.getPrice() != null) {
+                total = total.add(cartItem.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+            }
+        }
+        order.setItems(items);
+        order.setTotalAmount(total);
+        return order;
+    }
+}
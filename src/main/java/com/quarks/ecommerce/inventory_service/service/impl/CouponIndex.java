@@ -0,0 +1,103 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.entity.Coupon;
+import com.quarks.ecommerce.inventory_service.entity.enums.DiscountType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the active coupons keyed by code, with expiries and discounts precomputed.
+ */
+public final class CouponIndex {
+
+    public static final CouponIndex EMPTY = new CouponIndex(Map.of());
+
+    private static final int MONEY_SCALE = 2;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal ZERO_AMOUNT = BigDecimal.ZERO.setScale(MONEY_SCALE);
+
+    private final Map<String, CompiledCoupon> coupons;
+
+    private CouponIndex(Map<String, CompiledCoupon> coupons) {
+        this.coupons = coupons;
+    }
+
+    public static CouponIndex compile(Iterable<Coupon> coupons, ZoneId zone, long nowMillis) {
+        Map<String, CompiledCoupon> compiled = new HashMap<>();
+        for (Coupon coupon : coupons) {
+            long expiresAtMillis = coupon.getExpiryDate() == null
+                    ? Long.MAX_VALUE : coupon.getExpiryDate().atZone(zone).toInstant().toEpochMilli();
+            if (expiresAtMillis > nowMillis) {
+                compiled.put(coupon.getCode(), new CompiledCoupon(coupon.getCode(), coupon.getDiscountType(), coupon.getDiscountValue(), expiresAtMillis));
+            }
+        }
+        return new CouponIndex(Map.copyOf(compiled));
+    }
+
+    /**
+     * @return the coupon, or null if the code is unknown or the coupon has expired by {@code nowMillis}
+     */
+    public CompiledCoupon find(String code, long nowMillis) {
+        CompiledCoupon coupon = coupons.get(code);
+        return coupon == null || coupon.expiresAtMillis <= nowMillis ? null : coupon;
+    }
+
+    /**
+     * @return this index without the coupons expired by {@code nowMillis}, or this instance if none has
+     */
+    public CouponIndex withoutExpired(long nowMillis) {
+        Map<String, CompiledCoupon> remaining = null;
+        for (CompiledCoupon coupon : coupons.values()) {
+            if (coupon.expiresAtMillis <= nowMillis) {
+                if (remaining == null) {
+                    remaining = new HashMap<>(coupons);
+                }
+                remaining.remove(coupon.code);
+            }
+        }
+        return remaining == null ? this : new CouponIndex(Map.copyOf(remaining));
+    }
+
+    public int size() {
+        return coupons.size();
+    }
+
+    public static final class CompiledCoupon {
+        private final String code;
+        private final DiscountType discountType;
+        private final BigDecimal discountValue;
+        private final BigDecimal factor;
+        private final long expiresAtMillis;
+
+        private CompiledCoupon(String code, DiscountType discountType, BigDecimal discountValue, long expiresAtMillis) {
+            this.code = code;
+            this.discountType = discountType;
+            this.discountValue = discountValue;
+            this.factor = discountType == DiscountType.PERCENTAGE ? HUNDRED.subtract(discountValue).movePointLeft(2) : null;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public DiscountType getDiscountType() {
+            return discountType;
+        }
+
+        public BigDecimal getDiscountValue() {
+            return discountValue;
+        }
+
+        public BigDecimal apply(BigDecimal total) {
+            if (discountType == DiscountType.PERCENTAGE) {
+                return total.multiply(factor).setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+            }
+            return total.compareTo(discountValue) <= 0 ? ZERO_AMOUNT : total.subtract(discountValue).setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.CouponDto;
+import com.quarks.ecommerce.inventory_service.entity.Coupon;
+import com.quarks.ecommerce.inventory_service.entity.enums.DiscountType;
+import com.quarks.ecommerce.inventory_service.mapper.CouponMapper;
+import com.quarks.ecommerce.inventory_service.repository.CouponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Applies coupons from an in-memory {@link CouponIndex}. The index is reloaded on a schedule and after a save,
+ * which is announced on {@link #INVALIDATION_CHANNEL} so other nodes reload too.
+ */
+@Component
+public class CouponService implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponService.class);
+
+    static final String INVALIDATION_CHANNEL = "inventory_coupon_invalidation";
+
+    private final CouponRepository couponRepository;
+    private final CouponMapper couponMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean publishChanges;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final AtomicReference<CouponIndex> index = new AtomicReference<>(CouponIndex.EMPTY);
+    // Lets a node ignore its own invalidations, it reloaded before publishing
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CouponService(CouponRepository couponRepository, CouponMapper couponMapper, RedisTemplate<String, Object> redisTemplate,
+                         PlatformTransactionManager transactionManager, InventoryProperties inventoryProperties,
+                         ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.couponRepository = couponRepository;
+        this.couponMapper = couponMapper;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishChanges = inventoryProperties.getCoupons().isInvalidationEnabled();
+        if (publishChanges) {
+            listenerContainer.ifAvailable(container -> container.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL)));
+        }
+    }
+
+    /**
+     * @return {@code total} after the coupon's discount, rounded to cents and never below zero
+     * @throws IllegalArgumentException if the code is unknown or the coupon has expired
+     */
+    public BigDecimal apply(String code, BigDecimal total) {
+        CouponIndex.CompiledCoupon coupon = index.get().find(code, System.currentTimeMillis());
+        if (coupon == null) {
+            throw new IllegalArgumentException("Invalid or expired coupon: " + code);
+        }
+        return coupon.apply(total);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the coupon has no code, type or a discount out of range
+     */
+    public CouponDto save(CouponDto couponDto) {
+        String problem = validate(couponDto);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        CouponDto saved = transactionTemplate.execute(status -> {
+            Coupon coupon = couponRepository.findByCode(couponDto.getCode()).orElseGet(Coupon::new);
+            couponMapper.update(couponDto, coupon);
+            return couponMapper.toDto(couponRepository.save(coupon));
+        });
+        reload();
+        if (publishChanges) {
+            publishInvalidation(couponDto.getCode());
+        }
+        return saved;
+    }
+
+    private static String validate(CouponDto coupon) {
+        if (coupon.getCode() == null || coupon.getCode().isBlank()) {
+            return "code is missing";
+        }
+        if (coupon.getDiscountType() == null) {
+            return "discountType is missing";
+        }
+        BigDecimal value = coupon.getDiscountValue();
+        if (value == null || value.signum() <= 0) {
+            return "discountValue must be positive";
+        }
+        if (coupon.getDiscountType() == DiscountType.PERCENTAGE && value.compareTo(BigDecimal.valueOf(100)) > 0) {
+            return "discountValue of a percentage coupon must be at most 100";
+        }
+        return null;
+    }
+
+    // Synchronized so a reload that read the table before a save cannot swap its index in after a later one
+    @Scheduled(fixedDelayString = "${inventory.coupons.refresh-interval-ms:300000}")
+    public synchronized void reload() {
+        CouponIndex reloaded = CouponIndex.compile(couponRepository.findActive(LocalDateTime.now()), zone, System.currentTimeMillis());
+        index.set(reloaded);
+        log.debug("Coupon index reloaded with {} coupons", reloaded.size());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.coupons.expiry-sweep-interval-ms:60000}")
+    public void dropExpired() {
+        long now = System.currentTimeMillis();
+        // A reload that lands in between is kept, the sweep then runs again on the new index
+        index.updateAndGet(current -> current.withoutExpired(now));
+    }
+
+    private void publishInvalidation(String code) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + code);
+        } catch (RuntimeException e) {
+            // Other nodes catch up on their next scheduled reload, the coupon itself is saved
+            log.warn("Could not publish coupon invalidation for {}", code, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof String payload)) {
+            return;
+        }
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload coupons after invalidation, keeping the current index until the next refresh", e);
+        }
+    }
+}
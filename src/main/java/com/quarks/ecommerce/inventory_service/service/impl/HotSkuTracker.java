@@ -0,0 +1,58 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate top-K of the most contended items (Space-Saving), with counts halved on every {@link #decay()}.
+ */
+public class HotSkuTracker {
+
+    private final int capacity;
+    private final Map<Long, Long> counts;
+
+    public HotSkuTracker(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void record(long itemId) {
+        Long count = counts.get(itemId);
+        if (count != null) {
+            counts.put(itemId, count + 1);
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(itemId, 1L);
+            return;
+        }
+        Map.Entry<Long, Long> smallest = null;
+        for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+            if (smallest == null || entry.getValue() < smallest.getValue()) {
+                smallest = entry;
+            }
+        }
+        long inherited = smallest.getValue();
+        counts.remove(smallest.getKey());
+        counts.put(itemId, inherited + 1);
+    }
+
+    public synchronized List<Map.Entry<Long, Long>> top(int k) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+            entries.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+        entries.sort(Map.Entry.<Long, Long>comparingByValue().reversed());
+        return entries.size() > k ? entries.subList(0, k) : entries;
+    }
+
+    public synchronized void decay() {
+        counts.replaceAll((itemId, count) -> count / 2);
+        counts.values().removeIf(count -> count == 0);
+    }
+}
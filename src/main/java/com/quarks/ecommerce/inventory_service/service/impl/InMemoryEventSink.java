@@ -0,0 +1,41 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+import com.quarks.ecommerce.inventory_service.service.InventoryEventSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent relayed events in memory, for tests and local runs without Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.sink", havingValue = "in-memory")
+public class InMemoryEventSink implements InventoryEventSink {
+
+    static final int MAX_EVENTS = 100_000;
+
+    private final Deque<InventoryEvent> events = new ArrayDeque<>();
+
+    @Override
+    public synchronized void publish(List<InventoryEvent> published) {
+        for (InventoryEvent event : published) {
+            if (events.size() == MAX_EVENTS) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<InventoryEvent> events() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,418 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.dto.ReservationLineDto;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import com.quarks.ecommerce.inventory_service.mapper.InventoryMapper;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node engine: stock lives in a {@link StripedStockLedger} and a scheduled flush writes the changes behind.
+ */
+@Service
+@Timed("inventory.service")
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "in-memory")
+public class InMemoryInventoryServiceImpl implements InventoryService {
+
+    private static final String INVENTORY_CACHE_PREFIX = "inventory_availability:";
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ReservationRepository reservationRepository;
+    private final InventoryMapper inventoryMapper;
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties inventoryProperties;
+    private final StripedStockLedger ledger;
+    private final ReservationExpiryWheel expiryWheel;
+
+    // Reservations whose latest state may not be in the database yet, shared so concurrent cancels and expiries agree
+    private final ConcurrentMap<UUID, Reservation> openReservations = new ConcurrentHashMap<>();
+    private final Queue<Reservation> pendingInserts = new ConcurrentLinkedQueue<>();
+    private final Queue<Reservation> pendingStatusChanges = new ConcurrentLinkedQueue<>();
+    // {total, reserved} change per item since the last flush
+    private final ConcurrentMap<Long, int[]> pendingStockDeltas = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public InMemoryInventoryServiceImpl(InventoryItemRepository inventoryItemRepository, ReservationRepository reservationRepository, InventoryMapper inventoryMapper, RedisTemplate<String, Long> redisTemplate, PlatformTransactionManager transactionManager, InventoryProperties inventoryProperties, ReservationExpiryWheel expiryWheel) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.reservationRepository = reservationRepository;
+        this.inventoryMapper = inventoryMapper;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inventoryProperties = inventoryProperties;
+        this.ledger = new StripedStockLedger(inventoryProperties.getInMemory().getConcurrencyLevel());
+        this.expiryWheel = expiryWheel;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        for (InventoryItem inventoryItem : inventoryItemRepository.findAll()) {
+            ledger.put(inventoryItem.getItemId(), inventoryItem.getTotalQuantity(), inventoryItem.getReservedQuantity());
+        }
+    }
+
+    @Override
+    public InventoryDto createOrUpdateSupply(CreateSupplyRequestDto createSupplyRequestDto) {
+        Long itemId = createSupplyRequestDto.getItemId();
+        Optional<InventoryItem> optionalInventoryItem = inventoryItemRepository.findByItemId(itemId);
+        InventoryItem inventoryItem;
+        if (optionalInventoryItem.isPresent()) {
+            inventoryItem = optionalInventoryItem.get();
+            if (createSupplyRequestDto.getVersion() != null && !createSupplyRequestDto.getVersion().equals(inventoryItem.getVersion())) {
+                throw new OptimisticLockingFailureException("Version mismatch. Item might have been updated by someone else.");
+            }
+            if (ledger.addSupply(itemId, createSupplyRequestDto.getQuantity()) == StripedStockLedger.UNKNOWN_ITEM) {
+                // Row was inserted behind the engine's back after warm-up
+                ledger.put(itemId, inventoryItem.getTotalQuantity() + createSupplyRequestDto.getQuantity(), inventoryItem.getReservedQuantity());
+            }
+            addStockDelta(itemId, createSupplyRequestDto.getQuantity(), 0);
+        } else {
+            inventoryItem = new InventoryItem();
+            inventoryItem.setItemId(itemId);
+            inventoryItem.setName(createSupplyRequestDto.getName());
+            inventoryItem.setTotalQuantity(createSupplyRequestDto.getQuantity());
+            inventoryItem.setReservedQuantity(0);
+            inventoryItem = inventoryItemRepository.save(inventoryItem);
+            ledger.put(itemId, inventoryItem.getTotalQuantity(), 0);
+        }
+
+        int[] quantities = new int[2];
+        ledger.snapshot(itemId, quantities);
+        InventoryDto inventoryDto = inventoryMapper.toDto(inventoryItem);
+        inventoryDto.setTotalQuantity(quantities[0]);
+        inventoryDto.setReservedQuantity(quantities[1]);
+
+        redisTemplate.opsForValue().set(INVENTORY_CACHE_PREFIX + itemId, (long) Math.max(0, quantities[0] - quantities[1]));
+        return inventoryDto;
+    }
+
+    @Override
+    public String reserveItem(Long itemId, int quantity, String reservedBy) {
+        checkPendingWrites();
+        int remaining = ledger.reserve(itemId, quantity);
+        if (remaining == StripedStockLedger.UNKNOWN_ITEM) {
+            throw new ResourceNotFoundException("Product not found with id " + itemId);
+        }
+        if (remaining == StripedStockLedger.INSUFFICIENT_STOCK) {
+            return null;
+        }
+
+        Reservation reservation = newReservation(itemId, quantity, reservedBy);
+        openReservations.put(reservation.getReservationToken(), reservation);
+        pendingInserts.add(reservation);
+        addStockDelta(itemId, 0, quantity);
+        scheduleExpiry(reservation);
+        pendingWrites.incrementAndGet();
+        return reservation.getReservationToken().toString();
+    }
+
+    @Override
+    public BatchReservationResponseDto reserveItems(BatchReservationRequestDto batchReservationRequestDto) {
+        List<ReservationLineDto> lines = batchReservationRequestDto.getItems();
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required for a batch reservation");
+        }
+
+        for (ReservationLineDto line : lines) {
+            if (line.getItemId() == null) {
+                throw new IllegalArgumentException("Every line of a batch reservation needs an itemId");
+            }
+            if (line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive, got " + line.getQuantity() + " for item " + line.getItemId());
+            }
+        }
+
+        checkPendingWrites();
+        long[] itemIds = new long[lines.size()];
+        int[] quantities = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            itemIds[i] = lines.get(i).getItemId();
+            quantities[i] = lines.get(i).getQuantity();
+        }
+
+        int result = ledger.reserveAll(itemIds, quantities);
+        if (result == StripedStockLedger.UNKNOWN_ITEM) {
+            for (long itemId : itemIds) {
+                if (ledger.available(itemId) == StripedStockLedger.UNKNOWN_ITEM) {
+                    throw new ResourceNotFoundException("Product not found with id " + itemId);
+                }
+            }
+        }
+        if (result < 0) {
+            return null;
+        }
+
+        UUID groupToken = ReservationTokens.next();
+        List<String> reservationTokens = new ArrayList<>(lines.size());
+        for (ReservationLineDto line : lines) {
+            Reservation reservation = newReservation(line.getItemId(), line.getQuantity(), batchReservationRequestDto.getReservedBy());
+            reservation.setGroupToken(groupToken);
+            openReservations.put(reservation.getReservationToken(), reservation);
+            pendingInserts.add(reservation);
+            addStockDelta(line.getItemId(), 0, line.getQuantity());
+            scheduleExpiry(reservation);
+            reservationTokens.add(reservation.getReservationToken().toString());
+        }
+        pendingWrites.addAndGet(lines.size());
+        return new BatchReservationResponseDto(groupToken.toString(), reservationTokens);
+    }
+
+    @Override
+    public String cancelReservation(String reservationToken) {
+        ReservationStatus previousStatus = releaseReservation(ReservationTokens.parse(reservationToken), ReservationStatus.CANCELLED, null);
+        if (previousStatus == null) {
+            throw new RuntimeException("token is not valid");
+        }
+        if (previousStatus == ReservationStatus.EXPIRED) {
+            return "Reservation already expired";
+        }
+        return previousStatus == ReservationStatus.RESERVED ? "Reservation cancelled" : "Reservation already cancelled";
+    }
+
+    @Override
+    public void expireReservations(List<UUID> reservationTokens) {
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID reservationToken : reservationTokens) {
+            releaseReservation(reservationToken, ReservationStatus.EXPIRED, now);
+        }
+    }
+
+    // Returns the status found before the call, or null if the token is unknown or not due yet
+    private ReservationStatus releaseReservation(UUID reservationToken, ReservationStatus targetStatus, LocalDateTime deadline) {
+        if (reservationToken == null) {
+            return null;
+        }
+        while (true) {
+            Reservation reservation = openReservations.get(reservationToken);
+            if (reservation == null) {
+                Optional<Reservation> persisted = reservationRepository.findByReservationTokenAndCreatedAt(reservationToken,
+                        ReservationTokens.createdAt(reservationToken));
+                if (persisted.isEmpty()) {
+                    return reservationRepository.findArchivedStatus(reservationToken).orElse(null);
+                }
+                if (persisted.get().getReservationStatus() != ReservationStatus.RESERVED) {
+                    return persisted.get().getReservationStatus();
+                }
+                Reservation raced = openReservations.putIfAbsent(reservationToken, persisted.get());
+                reservation = raced != null ? raced : persisted.get();
+            }
+
+            synchronized (reservation) {
+                if (openReservations.get(reservationToken) != reservation) {
+                    // Evicted by the flusher after we looked it up, the database has its latest state now
+                    continue;
+                }
+                if (reservation.getReservationStatus() != ReservationStatus.RESERVED) {
+                    return reservation.getReservationStatus();
+                }
+                if (deadline != null && (reservation.getExpiresAt() == null || reservation.getExpiresAt().isAfter(deadline))) {
+                    return null;
+                }
+                if (ledger.release(reservation.getItemId(), reservation.getQuantity()) == StripedStockLedger.UNKNOWN_ITEM) {
+                    throw new ResourceNotFoundException("product is not found with item id " + reservation.getItemId());
+                }
+                reservation.setReservationStatus(targetStatus);
+                pendingStatusChanges.add(reservation);
+                addStockDelta(reservation.getItemId(), 0, -reservation.getQuantity());
+            }
+            pendingWrites.incrementAndGet();
+            return ReservationStatus.RESERVED;
+        }
+    }
+
+    @Override
+    public int getAvailability(Long itemId) {
+        int availableQuantity = ledger.available(itemId);
+        if (availableQuantity == StripedStockLedger.UNKNOWN_ITEM) {
+            throw new ResourceNotFoundException("Inventory item is not found with id " + itemId);
+        }
+        return availableQuantity;
+    }
+
+    @Override
+    public BulkAvailabilityResponseDto getAvailabilities(List<Long> itemIds) {
+        Map<Long, Integer> availabilities = new LinkedHashMap<>();
+        List<Long> notFoundItemIds = new ArrayList<>();
+        for (Long itemId : new LinkedHashSet<>(itemIds)) {
+            int availableQuantity = ledger.available(itemId);
+            if (availableQuantity == StripedStockLedger.UNKNOWN_ITEM) {
+                notFoundItemIds.add(itemId);
+            } else {
+                availabilities.put(itemId, availableQuantity);
+            }
+        }
+        return new BulkAvailabilityResponseDto(availabilities, notFoundItemIds);
+    }
+
+    /**
+     * Persists everything changed since the last flush. Runs on a schedule and on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${inventory.in-memory.flush-interval-ms:200}")
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Reservation> inserts = drain(pendingInserts);
+            List<Reservation> statusChanges = drain(pendingStatusChanges);
+            Map<Long, int[]> stockDeltas = new HashMap<>();
+            for (Long itemId : pendingStockDeltas.keySet()) {
+                int[] delta = pendingStockDeltas.remove(itemId);
+                if (delta != null) {
+                    stockDeltas.put(itemId, delta);
+                }
+            }
+            if (inserts.isEmpty() && statusChanges.isEmpty() && stockDeltas.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!inserts.isEmpty()) {
+                        reservationRepository.batchInsert(inserts);
+                    }
+                    Map<ReservationStatus, List<UUID>> tokensByStatus = new EnumMap<>(ReservationStatus.class);
+                    for (Reservation reservation : statusChanges) {
+                        tokensByStatus.computeIfAbsent(reservation.getReservationStatus(), key -> new ArrayList<>())
+                                .add(reservation.getReservationToken());
+                    }
+                    tokensByStatus.forEach((reservationStatus, tokens) -> reservationRepository.updateStatusByTokens(tokens, reservationStatus));
+                    stockDeltas.forEach((itemId, delta) -> inventoryItemRepository.adjustStock(itemId, delta[0], delta[1]));
+                });
+            } catch (RuntimeException e) {
+                pendingInserts.addAll(inserts);
+                pendingStatusChanges.addAll(statusChanges);
+                stockDeltas.forEach((itemId, delta) -> addStockDelta(itemId, delta[0], delta[1]));
+                throw e;
+            }
+            pendingWrites.addAndGet(-(inserts.size() + statusChanges.size()));
+
+            evictPersisted(inserts, statusChanges);
+            cacheAvailabilities(stockDeltas.keySet());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void addStockDelta(Long itemId, int totalDelta, int reservedDelta) {
+        pendingStockDeltas.merge(itemId, new int[]{totalDelta, reservedDelta},
+                (pending, delta) -> new int[]{pending[0] + delta[0], pending[1] + delta[1]});
+    }
+
+    // Cancels and expiries still go through, they only give stock back
+    private void checkPendingWrites() {
+        if (pendingWrites.get() >= inventoryProperties.getInMemory().getMaxPendingWrites()) {
+            throw new IllegalStateException("Too many reservations waiting to be written, try again later");
+        }
+    }
+
+    private void evictPersisted(List<Reservation> inserts, List<Reservation> statusChanges) {
+        Set<Reservation> flushedStatusChanges = Collections.newSetFromMap(new IdentityHashMap<>());
+        flushedStatusChanges.addAll(statusChanges);
+        for (Reservation reservation : statusChanges) {
+            synchronized (reservation) {
+                openReservations.remove(reservation.getReservationToken(), reservation);
+            }
+        }
+        for (Reservation reservation : inserts) {
+            synchronized (reservation) {
+                // A status change that arrived after this flush drained its queue still needs the in-memory copy
+                if (reservation.getReservationStatus() == ReservationStatus.RESERVED || flushedStatusChanges.contains(reservation)) {
+                    openReservations.remove(reservation.getReservationToken(), reservation);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cacheAvailabilities(Set<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Map<Long, int[]> stock = new HashMap<>();
+        for (Long itemId : itemIds) {
+            int[] quantities = new int[2];
+            if (ledger.snapshot(itemId, quantities)) {
+                stock.put(itemId, quantities);
+            }
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Long> redisOperations = (RedisOperations<String, Long>) operations;
+                stock.forEach((itemId, quantities) ->
+                        redisOperations.opsForValue().set(INVENTORY_CACHE_PREFIX + itemId, (long) Math.max(0, quantities[0] - quantities[1])));
+                return null;
+            }
+        });
+    }
+
+    private static List<Reservation> drain(Queue<Reservation> queue) {
+        List<Reservation> drained = new ArrayList<>();
+        Reservation reservation;
+        while ((reservation = queue.poll()) != null) {
+            drained.add(reservation);
+        }
+        return drained;
+    }
+
+    private Reservation newReservation(Long itemId, int quantity, String reservedBy) {
+        Reservation reservation = new Reservation();
+        reservation.setItemId(itemId);
+        reservation.setQuantity(quantity);
+        reservation.setReservationStatus(ReservationStatus.RESERVED);
+        reservation.setReservationToken(ReservationTokens.next());
+        reservation.setCreatedAt(ReservationTokens.createdAt(reservation.getReservationToken()));
+        reservation.setExpiresAt(reservation.getCreatedAt().plus(inventoryProperties.getReservation().getExpiry().getTtl()));
+        reservation.setReservedBy(reservedBy);
+        return reservation;
+    }
+
+    private void scheduleExpiry(Reservation reservation) {
+        if (inventoryProperties.getReservation().getExpiry().isEnabled()) {
+            expiryWheel.schedule(reservation.getReservationToken(), reservation.getExpiresAt());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.enums.InventoryEventType;
+import com.quarks.ecommerce.inventory_service.repository.InventoryEventRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends stock change events to the outbox table, inside the transaction that changes the stock.
+ */
+@Component
+public class InventoryEventOutbox {
+
+    private final InventoryEventRepository inventoryEventRepository;
+
+    public InventoryEventOutbox(InventoryEventRepository inventoryEventRepository) {
+        this.inventoryEventRepository = inventoryEventRepository;
+    }
+
+    public void supplyAdded(Long itemId, int quantity, int availableQuantity) {
+        append(List.of(new InventoryEvent(itemId, InventoryEventType.SUPPLY_ADDED, quantity, availableQuantity, null, LocalDateTime.now())));
+    }
+
+    public void reserved(Reservation reservation, int availableQuantity) {
+        append(List.of(event(reservation, InventoryEventType.RESERVED, availableQuantity)));
+    }
+
+    public void reservedAll(List<Reservation> reservations, Map<Long, Integer> availabilities) {
+        List<InventoryEvent> events = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            events.add(event(reservation, InventoryEventType.RESERVED, availabilities.get(reservation.getItemId())));
+        }
+        append(events);
+    }
+
+    public void cancelled(Reservation reservation, int availableQuantity) {
+        append(List.of(event(reservation, InventoryEventType.CANCELLED, availableQuantity)));
+    }
+
+    private InventoryEvent event(Reservation reservation, InventoryEventType eventType, int availableQuantity) {
+        int quantityDelta = eventType == InventoryEventType.RESERVED ? -reservation.getQuantity() : reservation.getQuantity();
+        return new InventoryEvent(reservation.getItemId(), eventType, quantityDelta, availableQuantity, reservation.getReservationToken(), LocalDateTime.now());
+    }
+
+    private void append(List<InventoryEvent> events) {
+        if (!events.isEmpty()) {
+            inventoryEventRepository.batchInsert(events);
+        }
+    }
+}
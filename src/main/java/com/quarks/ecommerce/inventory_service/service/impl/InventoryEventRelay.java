@@ -0,0 +1,70 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+import com.quarks.ecommerce.inventory_service.repository.InventoryEventRepository;
+import com.quarks.ecommerce.inventory_service.service.InventoryEventSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves outbox rows to the {@link InventoryEventSink}, at least once; consumers dedupe on eventId.
+ */
+@Component
+public class InventoryEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEventRelay.class);
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final InventoryEventRepository inventoryEventRepository;
+    private final InventoryEventSink eventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties inventoryProperties;
+
+    public InventoryEventRelay(InventoryEventRepository inventoryEventRepository, InventoryEventSink eventSink, PlatformTransactionManager transactionManager, InventoryProperties inventoryProperties) {
+        this.inventoryEventRepository = inventoryEventRepository;
+        this.eventSink = eventSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.relay-interval-ms:500}")
+    public void relay() {
+        if (!inventoryProperties.getOutbox().isRelayEnabled()) {
+            return;
+        }
+        int batchSize = inventoryProperties.getOutbox().getRelayBatchSize();
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                Integer relayed = transactionTemplate.execute(status -> relayBatch(batchSize));
+                if (relayed == null || relayed < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not relay inventory events, will retry", e);
+        }
+    }
+
+    private int relayBatch(int batchSize) {
+        List<InventoryEvent> events = inventoryEventRepository.lockOldest(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        eventSink.publish(events);
+        List<Long> ids = new ArrayList<>(events.size());
+        for (InventoryEvent event : events) {
+            ids.add(event.getId());
+        }
+        inventoryEventRepository.deleteAllByIdInBatch(ids);
+        return events.size();
+    }
+}
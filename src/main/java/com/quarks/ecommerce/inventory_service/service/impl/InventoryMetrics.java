@@ -0,0 +1,99 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Optimistic-lock retries, availability lookup sources and the most contended SKUs.
+ */
+@Component
+public class InventoryMetrics {
+
+    public enum AvailabilitySource {
+        NEAR_CACHE, REDIS, DATABASE
+    }
+
+    private final Counter optimisticRetries;
+    private final Counter retriesExhausted;
+    private final Counter backfills;
+    private final DistributionSummary combinedBatchSize;
+    private final Map<AvailabilitySource, Counter> availabilityLookups = new EnumMap<>(AvailabilitySource.class);
+    private final HotSkuTracker hotSkus;
+    private final MultiGauge hotSkuConflicts;
+    private final int hotSkuTopK;
+
+    public InventoryMetrics(MeterRegistry meterRegistry, InventoryProperties inventoryProperties) {
+        this.optimisticRetries = Counter.builder("inventory.reservation.optimistic.retries")
+                .description("Reservation attempts rolled back by a concurrent update of the same item")
+                .register(meterRegistry);
+        this.retriesExhausted = Counter.builder("inventory.reservation.optimistic.exhausted")
+                .description("Reservations that gave up after the maximum number of retries")
+                .register(meterRegistry);
+        this.backfills = Counter.builder("inventory.availability.backfills")
+                .description("Availability values written to Redis after a database read")
+                .register(meterRegistry);
+        this.combinedBatchSize = DistributionSummary.builder("inventory.reservation.combined.batch.size")
+                .description("Reservations applied together by the reservation combiner")
+                .register(meterRegistry);
+        for (AvailabilitySource source : AvailabilitySource.values()) {
+            availabilityLookups.put(source, Counter.builder("inventory.availability.lookups")
+                    .description("Availability lookups by the tier that answered them")
+                    .tag("source", source.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.hotSkuTopK = inventoryProperties.getMetrics().getHotSkuTopK();
+        this.hotSkus = new HotSkuTracker(Math.max(1, hotSkuTopK * 4));
+        this.hotSkuConflicts = MultiGauge.builder("inventory.reservation.hot.sku.conflicts")
+                .description("Recent optimistic-lock conflicts of the most contended items")
+                .register(meterRegistry);
+    }
+
+    public void recordOptimisticRetry(Long itemId) {
+        optimisticRetries.increment();
+        hotSkus.record(itemId);
+    }
+
+    public void recordRetriesExhausted() {
+        retriesExhausted.increment();
+    }
+
+    public void recordCombinedBatch(int size) {
+        combinedBatchSize.record(size);
+    }
+
+    public void recordAvailabilityLookup(AvailabilitySource source) {
+        availabilityLookups.get(source).increment();
+    }
+
+    public void recordAvailabilityLookups(AvailabilitySource source, int count) {
+        if (count > 0) {
+            availabilityLookups.get(source).increment(count);
+        }
+    }
+
+    public void recordBackfill(int count) {
+        backfills.increment(count);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.metrics.hot-sku-refresh-interval-ms:10000}")
+    public void publishHotSkus() {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : hotSkus.top(hotSkuTopK)) {
+            rows.add(MultiGauge.Row.of(Tags.of("item_id", String.valueOf(entry.getKey())), entry.getValue()));
+        }
+        hotSkuConflicts.register(rows, true);
+        hotSkus.decay();
+    }
+}
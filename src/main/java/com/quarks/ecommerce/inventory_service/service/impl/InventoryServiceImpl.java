@@ -1,40 +1,85 @@
 package com.quarks.ecommerce.inventory_service.service.impl;
 
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties.ReservationMode;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
 import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
 import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.dto.ReservationLineDto;
 import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
 import com.quarks.ecommerce.inventory_service.entity.Reservation;
 import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
 import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import com.quarks.ecommerce.inventory_service.mapper.InventoryMapper;
 import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
 import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
 import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import com.quarks.ecommerce.inventory_service.service.impl.InventoryMetrics.AvailabilitySource;
+import com.quarks.ecommerce.inventory_service.service.impl.RedisStockGate.GateResult;
+import com.quarks.ecommerce.inventory_service.service.impl.ReservationCombiner.PendingReservation;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
+@Timed("inventory.service")
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "jpa", matchIfMissing = true)
 public class InventoryServiceImpl implements InventoryService {
 
     private static final String INVENTORY_CACHE_PREFIX = "inventory_availability:";
 
     private final InventoryItemRepository inventoryItemRepository;
     private final ReservationRepository reservationRepository;
-    private final ModelMapper modelMapper;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final InventoryMapper inventoryMapper;
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties inventoryProperties;
+    private final RedisStockGate stockGate;
+    private final ReservationExpiryWheel expiryWheel;
+    private final AvailabilityNearCache nearCache;
+    private final AvailabilityCachePublisher cachePublisher;
+    private final InventoryMetrics metrics;
+    private final InventoryEventOutbox eventOutbox;
+    private final ReservationCombiner reservationCombiner;
 
-    public InventoryServiceImpl(InventoryItemRepository inventoryItemRepository, ReservationRepository reservationRepository, ModelMapper modelMapper, RedisTemplate<String, Object> redisTemplate) {
+    public InventoryServiceImpl(InventoryItemRepository inventoryItemRepository, ReservationRepository reservationRepository, InventoryMapper inventoryMapper, RedisTemplate<String, Long> redisTemplate, PlatformTransactionManager transactionManager, InventoryProperties inventoryProperties, RedisStockGate stockGate, ReservationExpiryWheel expiryWheel, AvailabilityNearCache nearCache, AvailabilityCachePublisher cachePublisher, InventoryMetrics metrics, InventoryEventOutbox eventOutbox) {
         this.inventoryItemRepository = inventoryItemRepository;
         this.reservationRepository = reservationRepository;
-        this.modelMapper = modelMapper;
+        this.inventoryMapper = inventoryMapper;
         this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.inventoryProperties = inventoryProperties;
+        this.stockGate = stockGate;
+        this.expiryWheel = expiryWheel;
+        this.nearCache = nearCache;
+        this.cachePublisher = cachePublisher;
+        this.metrics = metrics;
+        this.eventOutbox = eventOutbox;
+        this.reservationCombiner = new ReservationCombiner(inventoryProperties.getReservation().getCombining(), this::reserveCombined);
     }
 
     @Override
@@ -58,48 +103,64 @@ public class InventoryServiceImpl implements InventoryService {
 
         InventoryItem savedInventoryItem = inventoryItemRepository.save(inventoryItem);
 
-        String cacheKey = INVENTORY_CACHE_PREFIX + savedInventoryItem.getItemId();
         int availableQuantity = savedInventoryItem.getAvailableQuantity();
-        redisTemplate.opsForValue().set(cacheKey, availableQuantity);
+        eventOutbox.supplyAdded(savedInventoryItem.getItemId(), createSupplyRequestDto.getQuantity(), availableQuantity);
+        cachePublisher.publish(savedInventoryItem.getItemId(), availableQuantity);
+        if (stockGate.isEnabled()) {
+            Map<Long, Integer> supplied = Map.of(savedInventoryItem.getItemId(), createSupplyRequestDto.getQuantity());
+            afterCommit(() -> stockGate.adjustExisting(supplied));
+        }
 
-        return modelMapper.map(savedInventoryItem, InventoryDto.class);
+        return inventoryMapper.toDto(savedInventoryItem);
     }
 
     @Override
-    @Transactional
     public String reserveItem(Long itemId, int quantity, String reservedBy) {
-        int maxRetries = 3;
+        if (!stockGate.isEnabled()) {
+            return reserveInDatabase(itemId, quantity, reservedBy);
+        }
+
+        GateResult gateResult = stockGate.tryAcquire(itemId, quantity);
+        if (gateResult == GateResult.SOLD_OUT) {
+            return null;
+        }
+
+        String token;
+        try {
+            token = reserveInDatabase(itemId, quantity, reservedBy);
+        } catch (RuntimeException e) {
+            if (gateResult == GateResult.ADMITTED) {
+                stockGate.release(itemId, quantity);
+            }
+            throw e;
+        }
+
+        if (gateResult == GateResult.ADMITTED && token == null) {
+            stockGate.release(itemId, quantity);
+        }
+        return token;
+    }
+
+    private String reserveInDatabase(Long itemId, int quantity, String reservedBy) {
+        if (inventoryProperties.getReservation().getCombining().isEnabled()) {
+            return reservationCombiner.reserve(itemId, quantity, reservedBy);
+        }
+        if (inventoryProperties.getReservation().getMode() == ReservationMode.ATOMIC) {
+            return transactionTemplate.execute(status -> reserveAtomically(itemId, quantity, reservedBy));
+        }
+
+        int maxRetries = inventoryProperties.getReservation().getMaxRetries();
         int attempts = 0;
 
         while (attempts < maxRetries) {
             try {
-                InventoryItem inventoryItem = inventoryItemRepository.findByItemId(itemId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + itemId));
-
-                if (inventoryItem.reserve(quantity)) {
-                    Reservation reservation = new Reservation();
-                    reservation.setItemId(itemId);
-                    reservation.setQuantity(quantity);
-                    reservation.setReservationStatus(ReservationStatus.RESERVED);
-                    reservation.setCreatedAt(LocalDateTime.now());
-                    reservation.setReservedBy(reservedBy);
-                    reservation.setReservationToken(UUID.randomUUID().toString());
-
-                    reservationRepository.save(reservation);
-                    inventoryItemRepository.saveAndFlush(inventoryItem);
-
-                    String cacheKey = INVENTORY_CACHE_PREFIX + itemId;
-                    int updatedAvailableQuantity = inventoryItem.getAvailableQuantity();
-                    redisTemplate.opsForValue().set(cacheKey, updatedAvailableQuantity);
-
-                    return reservation.getReservationToken();
-                } else {
-                    return null;
-                }
-
+                // Each attempt gets its own transaction so a retry re-reads the row instead of the stale entity
+                return transactionTemplate.execute(status -> reserveOptimistically(itemId, quantity, reservedBy));
             } catch (ObjectOptimisticLockingFailureException e) {
                 attempts++;
+                metrics.recordOptimisticRetry(itemId);
                 if (attempts == maxRetries) {
+                    metrics.recordRetriesExhausted();
                     throw new RuntimeException("Reservation failed due to concurrent updates. Please try again.");
                 }
             }
@@ -108,10 +169,212 @@ public class InventoryServiceImpl implements InventoryService {
         return null;
     }
 
+    private String reserveOptimistically(Long itemId, int quantity, String reservedBy) {
+        InventoryItem inventoryItem = inventoryItemRepository.findByItemId(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + itemId));
+
+        if (!inventoryItem.reserve(quantity)) {
+            return null;
+        }
+
+        Reservation reservation = newReservation(itemId, quantity, reservedBy);
+        reservationRepository.save(reservation);
+        inventoryItemRepository.saveAndFlush(inventoryItem);
+
+        eventOutbox.reserved(reservation, inventoryItem.getAvailableQuantity());
+        cachePublisher.publish(itemId, inventoryItem.getAvailableQuantity());
+        seedGate(itemId, inventoryItem.getAvailableQuantity());
+
+        scheduleExpiry(reservation);
+        return reservation.getReservationToken().toString();
+    }
+
+    private String reserveAtomically(Long itemId, int quantity, String reservedBy) {
+        if (inventoryItemRepository.reserveStock(itemId, quantity) == 0) {
+            if (!inventoryItemRepository.existsByItemId(itemId)) {
+                throw new ResourceNotFoundException("Product not found with id " + itemId);
+            }
+            return null;
+        }
+
+        Reservation reservation = newReservation(itemId, quantity, reservedBy);
+        reservationRepository.save(reservation);
+
+        inventoryItemRepository.findAvailableQuantityByItemId(itemId).ifPresent(updatedAvailableQuantity -> {
+            eventOutbox.reserved(reservation, updatedAvailableQuantity);
+            cachePublisher.publish(itemId, updatedAvailableQuantity);
+            seedGate(itemId, updatedAvailableQuantity);
+        });
+
+        scheduleExpiry(reservation);
+        return reservation.getReservationToken().toString();
+    }
+
+    /**
+     * Serves a batch gathered by the {@link ReservationCombiner} in arrival order.
+     */
+    List<String> reserveCombined(Long itemId, List<PendingReservation> pendingReservations) {
+        metrics.recordCombinedBatch(pendingReservations.size());
+        List<Reservation> granted = transactionTemplate.execute(status -> grantCombined(itemId, pendingReservations));
+        List<String> tokens = new ArrayList<>(pendingReservations.size());
+        for (Reservation reservation : granted) {
+            tokens.add(reservation == null ? null : reservation.getReservationToken().toString());
+        }
+        return tokens;
+    }
+
+    private List<Reservation> grantCombined(Long itemId, List<PendingReservation> pendingReservations) {
+        int maxRetries = inventoryProperties.getReservation().getMaxRetries();
+        for (int attempt = 1; ; attempt++) {
+            int availableQuantity = inventoryItemRepository.findAvailableQuantityByItemId(itemId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + itemId));
+
+            List<Reservation> granted = new ArrayList<>(pendingReservations.size());
+            List<Reservation> inserts = new ArrayList<>(pendingReservations.size());
+            int grantedQuantity = 0;
+            for (PendingReservation pendingReservation : pendingReservations) {
+                if (pendingReservation.getQuantity() <= availableQuantity - grantedQuantity) {
+                    grantedQuantity += pendingReservation.getQuantity();
+                    Reservation reservation = newReservation(itemId, pendingReservation.getQuantity(), pendingReservation.getReservedBy());
+                    granted.add(reservation);
+                    inserts.add(reservation);
+                } else {
+                    granted.add(null);
+                }
+            }
+            if (inserts.isEmpty()) {
+                return granted;
+            }
+
+            // Only writers outside this node's combiner can move the row between the read and this UPDATE
+            if (inventoryItemRepository.reserveStock(itemId, grantedQuantity) == 1) {
+                reservationRepository.batchInsert(inserts);
+                inventoryItemRepository.findAvailableQuantityByItemId(itemId).ifPresent(updatedAvailableQuantity -> {
+                    eventOutbox.reservedAll(inserts, Map.of(itemId, updatedAvailableQuantity));
+                    cachePublisher.publish(itemId, updatedAvailableQuantity);
+                    seedGate(itemId, updatedAvailableQuantity);
+                });
+                inserts.forEach(this::scheduleExpiry);
+                return granted;
+            }
+            metrics.recordOptimisticRetry(itemId);
+            if (attempt >= maxRetries) {
+                metrics.recordRetriesExhausted();
+                throw new RuntimeException("Reservation failed due to concurrent updates. Please try again.");
+            }
+        }
+    }
+
+    // The row is locked until commit, so its available quantity is what the counter should start from
+    private void seedGate(Long itemId, int availableQuantity) {
+        if (stockGate.isEnabled() && !stockGate.isTracked(itemId)) {
+            afterCommit(() -> stockGate.seed(itemId, availableQuantity));
+        }
+    }
+
+    private Reservation newReservation(Long itemId, int quantity, String reservedBy) {
+        Reservation reservation = new Reservation();
+        reservation.setItemId(itemId);
+        reservation.setQuantity(quantity);
+        reservation.setReservationStatus(ReservationStatus.RESERVED);
+        reservation.setReservationToken(ReservationTokens.next());
+        reservation.setCreatedAt(ReservationTokens.createdAt(reservation.getReservationToken()));
+        reservation.setExpiresAt(reservation.getCreatedAt().plus(inventoryProperties.getReservation().getExpiry().getTtl()));
+        reservation.setReservedBy(reservedBy);
+        return reservation;
+    }
+
+    private void scheduleExpiry(Reservation reservation) {
+        if (inventoryProperties.getReservation().getExpiry().isEnabled()) {
+            expiryWheel.schedule(reservation.getReservationToken(), reservation.getExpiresAt());
+        }
+    }
+
+    @Override
+    @Transactional
+    public BatchReservationResponseDto reserveItems(BatchReservationRequestDto batchReservationRequestDto) {
+        List<ReservationLineDto> lines = batchReservationRequestDto.getItems();
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required for a batch reservation");
+        }
+
+        for (ReservationLineDto line : lines) {
+            if (line.getItemId() == null) {
+                throw new IllegalArgumentException("Every line of a batch reservation needs an itemId");
+            }
+            if (line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive, got " + line.getQuantity() + " for item " + line.getItemId());
+            }
+        }
+
+        // Several lines may point at the same item, so check stock against the summed quantity
+        Map<Long, Integer> requestedQuantities = new TreeMap<>();
+        for (ReservationLineDto line : lines) {
+            requestedQuantities.merge(line.getItemId(), line.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, InventoryItem> inventoryItems = new HashMap<>();
+        for (InventoryItem inventoryItem : inventoryItemRepository.findByItemIdIn(requestedQuantities.keySet())) {
+            inventoryItems.put(inventoryItem.getItemId(), inventoryItem);
+        }
+
+        for (Map.Entry<Long, Integer> requested : requestedQuantities.entrySet()) {
+            InventoryItem inventoryItem = inventoryItems.get(requested.getKey());
+            if (inventoryItem == null) {
+                throw new ResourceNotFoundException("Product not found with id " + requested.getKey());
+            }
+            if (inventoryItem.getAvailableQuantity() < requested.getValue()) {
+                return null;
+            }
+        }
+
+        for (Map.Entry<Long, Integer> requested : requestedQuantities.entrySet()) {
+            inventoryItems.get(requested.getKey()).reserve(requested.getValue());
+        }
+
+        UUID groupToken = ReservationTokens.next();
+        List<Reservation> reservations = new ArrayList<>(lines.size());
+        List<String> reservationTokens = new ArrayList<>(lines.size());
+        for (ReservationLineDto line : lines) {
+            Reservation reservation = newReservation(line.getItemId(), line.getQuantity(), batchReservationRequestDto.getReservedBy());
+            reservation.setGroupToken(groupToken);
+            reservations.add(reservation);
+            reservationTokens.add(reservation.getReservationToken().toString());
+        }
+
+        inventoryItemRepository.saveAllAndFlush(inventoryItems.values());
+        reservationRepository.batchInsert(reservations);
+        reservations.forEach(this::scheduleExpiry);
+
+        Map<Long, Integer> availabilities = new HashMap<>();
+        for (InventoryItem inventoryItem : inventoryItems.values()) {
+            availabilities.put(inventoryItem.getItemId(), inventoryItem.getAvailableQuantity());
+        }
+        eventOutbox.reservedAll(reservations, availabilities);
+        cachePublisher.publishAll(availabilities);
+        if (stockGate.isEnabled()) {
+            Map<Long, Integer> taken = new HashMap<>();
+            requestedQuantities.forEach((itemId, quantity) -> taken.put(itemId, -quantity));
+            afterCommit(() -> stockGate.adjustExisting(taken));
+        }
+
+        return new BatchReservationResponseDto(groupToken.toString(), reservationTokens);
+    }
+
     @Override
     @Transactional
     public String cancelReservation(String reservationToken) {
-        Reservation reservation = reservationRepository.findByReservationToken(reservationToken).orElseThrow(() -> new RuntimeException("token is not valid"));
+        UUID token = ReservationTokens.parse(reservationToken);
+        if (token == null) {
+            throw new RuntimeException("token is not valid");
+        }
+        Optional<Reservation> found = reservationRepository.findByReservationTokenAndCreatedAt(token, ReservationTokens.createdAt(token));
+        if (found.isEmpty()) {
+            // Partitions of old reservations are archived once all of them are cancelled or expired
+            ReservationStatus archivedStatus = reservationRepository.findArchivedStatus(token).orElseThrow(() -> new RuntimeException("token is not valid"));
+            return archivedStatus == ReservationStatus.EXPIRED ? "Reservation already expired" : "Reservation already cancelled";
+        }
+        Reservation reservation = found.get();
         if (reservation.getReservationStatus().equals(ReservationStatus.RESERVED)) {
             InventoryItem inventoryItem = inventoryItemRepository.findByItemId(reservation.getItemId()).orElseThrow(() -> new ResourceNotFoundException("product is not found with item id " + reservation.getItemId()));
             inventoryItem.cancelReservation(reservation.getQuantity());
@@ -119,23 +382,63 @@ public class InventoryServiceImpl implements InventoryService {
             inventoryItemRepository.save(inventoryItem);
             reservationRepository.save(reservation);
 
-            String cacheKey = INVENTORY_CACHE_PREFIX + reservation.getItemId();
-            int updatedAvailableQuantity = inventoryItem.getAvailableQuantity();
-            redisTemplate.opsForValue().set(cacheKey, updatedAvailableQuantity);
+            eventOutbox.cancelled(reservation, inventoryItem.getAvailableQuantity());
+            cachePublisher.publish(reservation.getItemId(), inventoryItem.getAvailableQuantity());
+            if (stockGate.isEnabled()) {
+                afterCommit(() -> stockGate.release(reservation.getItemId(), reservation.getQuantity()));
+            }
 
             return "Reservation cancelled";
         }
+        if (reservation.getReservationStatus().equals(ReservationStatus.EXPIRED)) {
+            return "Reservation already expired";
+        }
         return "Reservation already cancelled";
     }
 
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public void expireReservations(List<UUID> reservationTokens) {
+        if (reservationTokens.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> availabilities = transactionTemplate.execute(status ->
+                reservationRepository.expireReservations(reservationTokens, LocalDateTime.now()));
+        if (availabilities == null || availabilities.isEmpty()) {
+            return;
+        }
+        // The released quantities are not returned, so gate counters stay low until the next reconcile
+        cachePublisher.publishAll(availabilities);
+    }
+
     @Override
     public int getAvailability(Long itemId) {
+        Integer nearCachedAvailability = nearCache.get(itemId);
+        if (nearCachedAvailability != null) {
+            metrics.recordAvailabilityLookup(AvailabilitySource.NEAR_CACHE);
+            return nearCachedAvailability;
+        }
+
         String cacheKey = INVENTORY_CACHE_PREFIX + itemId;
 
         // Try getting from Redis cache
-        Integer cachedAvailability = (Integer) redisTemplate.opsForValue().get(cacheKey);
+        Long cachedAvailability = redisTemplate.opsForValue().get(cacheKey);
         if (cachedAvailability != null) {
-            return cachedAvailability;
+            metrics.recordAvailabilityLookup(AvailabilitySource.REDIS);
+            nearCache.put(itemId, cachedAvailability.intValue());
+            return cachedAvailability.intValue();
         }
         Optional<InventoryItem> optionalInventoryItem = inventoryItemRepository.findByItemId(itemId);
         if (!optionalInventoryItem.isPresent()) {
@@ -143,9 +446,71 @@ public class InventoryServiceImpl implements InventoryService {
         }
         InventoryItem inventoryItem = optionalInventoryItem.get();
         int availableItemQuantity = inventoryItem.getAvailableQuantity();
-        redisTemplate.opsForValue().set(cacheKey, availableItemQuantity);
+        metrics.recordAvailabilityLookup(AvailabilitySource.DATABASE);
+        cachePublisher.backfill(Map.of(itemId, availableItemQuantity));
+        metrics.recordBackfill(1);
+        nearCache.put(itemId, availableItemQuantity);
 
         return availableItemQuantity;
     }
 
+    @Override
+    public BulkAvailabilityResponseDto getAvailabilities(List<Long> itemIds) {
+        Map<Long, Integer> availabilities = new LinkedHashMap<>();
+        List<Long> redisMisses = new ArrayList<>();
+        Set<Long> distinctItemIds = new LinkedHashSet<>(itemIds);
+        for (Long itemId : distinctItemIds) {
+            Integer nearCachedAvailability = nearCache.get(itemId);
+            availabilities.put(itemId, nearCachedAvailability);
+            if (nearCachedAvailability == null) {
+                redisMisses.add(itemId);
+            }
+        }
+
+        metrics.recordAvailabilityLookups(AvailabilitySource.NEAR_CACHE, distinctItemIds.size() - redisMisses.size());
+
+        List<Long> databaseMisses = new ArrayList<>();
+        if (!redisMisses.isEmpty()) {
+            List<String> cacheKeys = new ArrayList<>(redisMisses.size());
+            for (Long itemId : redisMisses) {
+                cacheKeys.add(INVENTORY_CACHE_PREFIX + itemId);
+            }
+            List<Long> cachedValues = redisTemplate.opsForValue().multiGet(cacheKeys);
+            for (int i = 0; i < redisMisses.size(); i++) {
+                Long cachedAvailability = cachedValues == null ? null : cachedValues.get(i);
+                if (cachedAvailability != null) {
+                    availabilities.put(redisMisses.get(i), cachedAvailability.intValue());
+                    nearCache.put(redisMisses.get(i), cachedAvailability.intValue());
+                } else {
+                    databaseMisses.add(redisMisses.get(i));
+                }
+            }
+            metrics.recordAvailabilityLookups(AvailabilitySource.REDIS, redisMisses.size() - databaseMisses.size());
+        }
+
+        List<Long> notFoundItemIds = new ArrayList<>();
+        if (!databaseMisses.isEmpty()) {
+            Map<Long, Integer> loaded = new HashMap<>();
+            for (InventoryItem inventoryItem : inventoryItemRepository.findByItemIdIn(databaseMisses)) {
+                loaded.put(inventoryItem.getItemId(), inventoryItem.getAvailableQuantity());
+            }
+            for (Long itemId : databaseMisses) {
+                Integer availableQuantity = loaded.get(itemId);
+                if (availableQuantity == null) {
+                    availabilities.remove(itemId);
+                    notFoundItemIds.add(itemId);
+                } else {
+                    availabilities.put(itemId, availableQuantity);
+                    nearCache.put(itemId, availableQuantity);
+                }
+            }
+            metrics.recordAvailabilityLookups(AvailabilitySource.DATABASE, databaseMisses.size());
+            if (!loaded.isEmpty()) {
+                cachePublisher.backfill(loaded);
+                metrics.recordBackfill(loaded.size());
+            }
+        }
+        return new BulkAvailabilityResponseDto(availabilities, notFoundItemIds);
+    }
+
 }
@@ -0,0 +1,69 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.repository.OrderRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepositoryCustom.ReservationKey;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streams one keyset page as {@code {"items": [...], "nextCursor": "..."}}.
+ */
+@Component
+public class KeysetPageWriter {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final ReservationRepository reservationRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    public KeysetPageWriter(ReservationRepository reservationRepository, OrderRepository orderRepository, ObjectMapper objectMapper) {
+        this.reservationRepository = reservationRepository;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void writeReservations(ReservationKey key, Object value, KeysetCursor after, Integer limit, OutputStream out) throws IOException {
+        writePage(out, sink -> reservationRepository.streamReservations(key, value, after, pageSize(limit), sink));
+    }
+
+    public void writeOrders(Long userId, KeysetCursor after, Integer limit, OutputStream out) throws IOException {
+        writePage(out, sink -> orderRepository.streamOrders(userId, after, pageSize(limit), sink));
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private void writePage(OutputStream out, Function<Consumer<Object>, KeysetCursor> query) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+            KeysetCursor next;
+            try {
+                next = query.apply(row -> {
+                    try {
+                        generator.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", next == null ? null : next.encode());
+            generator.writeEndObject();
+        }
+    }
+}
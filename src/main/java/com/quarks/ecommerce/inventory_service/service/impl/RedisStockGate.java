@@ -0,0 +1,141 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis stock counter per item that turns away sold-out reservations before they reach Postgres.
+ */
+@Component
+public class RedisStockGate {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStockGate.class);
+
+    static final String STOCK_COUNTER_PREFIX = "inventory_stock:";
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/stock_gate_acquire.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/stock_gate_release.lua"), Long.class);
+    private static final RedisScript<Long> ADJUST_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/stock_gate_adjust.lua"), Long.class);
+    private static final RedisScript<Long> RECONCILE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/stock_gate_reconcile.lua"), Long.class);
+
+    private static final long INSUFFICIENT_STOCK = -1L;
+    private static final long NO_COUNTER = -2L;
+
+    public enum GateResult {
+        ADMITTED, SOLD_OUT, NOT_TRACKED
+    }
+
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryProperties inventoryProperties;
+    private final Set<Long> trackedItemIds = ConcurrentHashMap.newKeySet();
+
+    public RedisStockGate(RedisTemplate<String, Long> redisTemplate, InventoryItemRepository inventoryItemRepository, InventoryProperties inventoryProperties) {
+        this.redisTemplate = redisTemplate;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    public boolean isEnabled() {
+        return inventoryProperties.getReservation().getRedisGate().isEnabled();
+    }
+
+    public GateResult tryAcquire(Long itemId, int quantity) {
+        Long remaining = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(STOCK_COUNTER_PREFIX + itemId), (long) quantity);
+        if (remaining == null || remaining == NO_COUNTER) {
+            trackedItemIds.remove(itemId);
+            return GateResult.NOT_TRACKED;
+        }
+        trackedItemIds.add(itemId);
+        return remaining == INSUFFICIENT_STOCK ? GateResult.SOLD_OUT : GateResult.ADMITTED;
+    }
+
+    public void release(Long itemId, int quantity) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(STOCK_COUNTER_PREFIX + itemId), (long) quantity);
+    }
+
+    public boolean isTracked(Long itemId) {
+        return trackedItemIds.contains(itemId);
+    }
+
+    /**
+     * Seeds the counter unless one exists already.
+     */
+    public void seed(Long itemId, int availableQuantity) {
+        redisTemplate.opsForValue().setIfAbsent(STOCK_COUNTER_PREFIX + itemId, (long) availableQuantity);
+        trackedItemIds.add(itemId);
+    }
+
+    /**
+     * Applies stock changes made outside the gate to the counters that exist.
+     */
+    public void adjustExisting(Map<Long, Integer> quantityDeltas) {
+        if (quantityDeltas.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(quantityDeltas.size());
+        List<Long> deltas = new ArrayList<>(quantityDeltas.size());
+        quantityDeltas.forEach((itemId, delta) -> {
+            keys.add(STOCK_COUNTER_PREFIX + itemId);
+            deltas.add(delta.longValue());
+        });
+        redisTemplate.execute(ADJUST_SCRIPT, keys, deltas.toArray());
+    }
+
+    // Counters are read before the table so the script can skip any that moved while the query ran
+    @Scheduled(fixedDelayString = "${inventory.reservation.redis-gate.reconcile-interval-ms:5000}")
+    public void reconcile() {
+        if (!isEnabled() || trackedItemIds.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = new ArrayList<>(trackedItemIds);
+        List<String> keys = itemIds.stream().map(itemId -> STOCK_COUNTER_PREFIX + itemId).toList();
+        List<Long> counters = redisTemplate.opsForValue().multiGet(keys);
+        if (counters == null) {
+            return;
+        }
+
+        Map<Long, Integer> availabilities = new HashMap<>();
+        for (InventoryItem inventoryItem : inventoryItemRepository.findByItemIdIn(itemIds)) {
+            availabilities.put(inventoryItem.getItemId(), inventoryItem.getAvailableQuantity());
+        }
+
+        List<String> staleKeys = new ArrayList<>();
+        List<Long> expectedAndAvailable = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            Long counter = counters.get(i);
+            Integer availableQuantity = availabilities.get(itemIds.get(i));
+            if (counter == null) {
+                trackedItemIds.remove(itemIds.get(i));
+            } else if (availableQuantity != null && counter != availableQuantity.longValue()) {
+                staleKeys.add(keys.get(i));
+                expectedAndAvailable.add(counter);
+                expectedAndAvailable.add(availableQuantity.longValue());
+            }
+        }
+        if (staleKeys.isEmpty()) {
+            return;
+        }
+        Long updated = redisTemplate.execute(RECONCILE_SCRIPT, staleKeys, expectedAndAvailable.toArray());
+        log.debug("Reconciled {} of {} drifted stock gate counters from Postgres", updated, staleKeys.size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+import com.quarks.ecommerce.inventory_service.service.InventoryEventSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends events to a Redis Stream with one pipelined XADD per event and an approximate XTRIM per batch to
+ * {@code inventory.outbox.stream-max-length}, so consumers that fall further behind must resync from the API.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.sink", havingValue = "redis", matchIfMissing = true)
+public class RedisStreamEventSink implements InventoryEventSink {
+
+    private final StringRedisTemplate redisTemplate;
+    private final InventoryProperties inventoryProperties;
+
+    public RedisStreamEventSink(StringRedisTemplate redisTemplate, InventoryProperties inventoryProperties) {
+        this.redisTemplate = redisTemplate;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void publish(List<InventoryEvent> events) {
+        String streamKey = inventoryProperties.getOutbox().getStreamKey();
+        long streamMaxLength = inventoryProperties.getOutbox().getStreamMaxLength();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> redisOperations = (RedisOperations<String, String>) operations;
+                for (InventoryEvent event : events) {
+                    redisOperations.opsForStream().add(StreamRecords.string(fields(event)).withStreamKey(streamKey));
+                }
+                redisOperations.opsForStream().trim(streamKey, streamMaxLength, true);
+                return null;
+            }
+        });
+    }
+
+    static Map<String, String> fields(InventoryEvent event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("eventId", String.valueOf(event.getId()));
+        fields.put("itemId", String.valueOf(event.getItemId()));
+        fields.put("type", event.getEventType().name());
+        fields.put("quantityDelta", String.valueOf(event.getQuantityDelta()));
+        fields.put("availableQuantity", String.valueOf(event.getAvailableQuantity()));
+        if (event.getReservationToken() != null) {
+            fields.put("reservationToken", event.getReservationToken().toString());
+        }
+        fields.put("createdAt", event.getCreatedAt().toString());
+        return fields;
+    }
+}
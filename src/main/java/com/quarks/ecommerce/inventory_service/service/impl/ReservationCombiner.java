@@ -0,0 +1,137 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups concurrent reservations of the same item into one batch, run on the thread of its first caller once the
+ * window passes or the batch is full.
+ */
+public class ReservationCombiner {
+
+    /**
+     * @return one token per request, in order, or null for the requests that could not be served
+     */
+    @FunctionalInterface
+    public interface BatchHandler {
+        List<String> reserve(Long itemId, List<PendingReservation> reservations);
+    }
+
+    public static final class PendingReservation {
+        private final int quantity;
+        private final String reservedBy;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        public PendingReservation(int quantity, String reservedBy) {
+            this.quantity = quantity;
+            this.reservedBy = reservedBy;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public String getReservedBy() {
+            return reservedBy;
+        }
+    }
+
+    // Guarded by its own monitor: joiners append and the leader closes under it
+    private static final class Batch {
+        private final List<PendingReservation> reservations = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+        private boolean closed;
+
+        private synchronized boolean tryAdd(PendingReservation reservation, int maxBatchSize) {
+            if (closed || reservations.size() >= maxBatchSize) {
+                return false;
+            }
+            reservations.add(reservation);
+            if (reservations.size() == maxBatchSize) {
+                full.countDown();
+            }
+            return true;
+        }
+
+        private synchronized List<PendingReservation> close() {
+            closed = true;
+            return reservations;
+        }
+    }
+
+    private final InventoryProperties.Combining combining;
+    private final BatchHandler batchHandler;
+    private final ConcurrentMap<Long, Batch> openBatches = new ConcurrentHashMap<>();
+
+    public ReservationCombiner(InventoryProperties.Combining combining, BatchHandler batchHandler) {
+        this.combining = combining;
+        this.batchHandler = batchHandler;
+    }
+
+    public String reserve(Long itemId, int quantity, String reservedBy) {
+        PendingReservation reservation = new PendingReservation(quantity, reservedBy);
+        int maxBatchSize = Math.max(1, combining.getMaxBatchSize());
+        Batch[] ledBatch = new Batch[1];
+        openBatches.compute(itemId, (key, batch) -> {
+            if (batch != null && batch.tryAdd(reservation, maxBatchSize)) {
+                return batch;
+            }
+            // No open batch, or it is full or already closed by its leader: start a new one and lead it
+            Batch newBatch = new Batch();
+            newBatch.tryAdd(reservation, maxBatchSize);
+            ledBatch[0] = newBatch;
+            return newBatch;
+        });
+
+        if (ledBatch[0] != null) {
+            lead(itemId, ledBatch[0]);
+        }
+        try {
+            return reservation.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void lead(Long itemId, Batch batch) {
+        try {
+            batch.full.await(combining.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingReservation> reservations = batch.close();
+        // A full batch may already have been replaced by a newer one, only remove our own
+        openBatches.remove(itemId, batch);
+        Throwable failure = null;
+        try {
+            List<String> tokens = batchHandler.reserve(itemId, reservations);
+            for (int i = 0; i < Math.min(tokens.size(), reservations.size()); i++) {
+                reservations.get(i).result.complete(tokens.get(i));
+            }
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            // Followers block on their futures, none may be left pending whatever the handler did
+            for (PendingReservation reservation : reservations) {
+                if (!reservation.result.isDone()) {
+                    reservation.result.completeExceptionally(failure != null ? failure
+                            : new IllegalStateException("Batch handler returned fewer tokens than reservations for item " + itemId));
+                }
+            }
+        }
+    }
+}
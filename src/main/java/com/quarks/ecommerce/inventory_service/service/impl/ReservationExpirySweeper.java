@@ -0,0 +1,74 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Releases reservations due on the {@link ReservationExpiryWheel}, plus overdue rows the wheel never saw.
+ */
+@Component
+public class ReservationExpirySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpirySweeper.class);
+
+    private static final int MAX_CATCH_UP_BATCHES = 20;
+
+    private final ReservationExpiryWheel expiryWheel;
+    private final InventoryService inventoryService;
+    private final ReservationRepository reservationRepository;
+    private final InventoryProperties inventoryProperties;
+
+    public ReservationExpirySweeper(ReservationExpiryWheel expiryWheel, InventoryService inventoryService, ReservationRepository reservationRepository, InventoryProperties inventoryProperties) {
+        this.expiryWheel = expiryWheel;
+        this.inventoryService = inventoryService;
+        this.reservationRepository = reservationRepository;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry.tick-ms:1000}")
+    public void sweep() {
+        if (!inventoryProperties.getReservation().getExpiry().isEnabled()) {
+            return;
+        }
+        List<UUID> dueTokens = expiryWheel.advance(System.currentTimeMillis());
+        int batchSize = inventoryProperties.getReservation().getExpiry().getBatchSize();
+        for (int from = 0; from < dueTokens.size(); from += batchSize) {
+            inventoryService.expireReservations(dueTokens.subList(from, Math.min(from + batchSize, dueTokens.size())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (!inventoryProperties.getReservation().getExpiry().isEnabled()) {
+            return;
+        }
+        int batchSize = inventoryProperties.getReservation().getExpiry().getBatchSize();
+        int expired = 0;
+        for (int batch = 0; batch < MAX_CATCH_UP_BATCHES; batch++) {
+            List<UUID> overdueTokens = reservationRepository.findTokensByStatusAndExpiresAtBefore(
+                    ReservationStatus.RESERVED, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (overdueTokens.isEmpty()) {
+                break;
+            }
+            inventoryService.expireReservations(overdueTokens);
+            expired += overdueTokens.size();
+            if (overdueTokens.size() < batchSize) {
+                break;
+            }
+        }
+        if (expired > 0) {
+            log.info("Catch-up sweep expired {} overdue reservations", expired);
+        }
+    }
+}
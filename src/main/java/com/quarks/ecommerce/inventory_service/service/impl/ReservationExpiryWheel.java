@@ -0,0 +1,103 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.UUID;
+
+/**
+ * Hashed timing wheel of reservation deadlines. Any thread may schedule; only the caller of
+ * {@link #advance(long)} touches the buckets.
+ */
+@Component
+public class ReservationExpiryWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Entry>[] buckets;
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private long startMillis = -1;
+    private long lastTick = -1;
+
+    @Autowired
+    public ReservationExpiryWheel(InventoryProperties inventoryProperties) {
+        this(inventoryProperties.getReservation().getExpiry().getTickMs(), inventoryProperties.getReservation().getExpiry().getWheelSize());
+    }
+
+    @SuppressWarnings("unchecked")
+    ReservationExpiryWheel(long tickMillis, int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    public void schedule(UUID reservationToken, LocalDateTime expiresAt) {
+        incoming.add(new Entry(reservationToken, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    /**
+     * @return the tokens whose deadline has passed by {@code nowMillis}
+     */
+    public synchronized List<UUID> advance(long nowMillis) {
+        if (startMillis < 0) {
+            startMillis = nowMillis;
+            lastTick = 0;
+        }
+        long currentTick = (nowMillis - startMillis) / tickMillis;
+        List<UUID> expired = new ArrayList<>();
+
+        Entry entry;
+        while ((entry = incoming.poll()) != null) {
+            // Round up so an entry never fires before its deadline
+            long deadlineTick = Math.max(Math.floorDiv(entry.deadlineMillis - startMillis + tickMillis - 1, tickMillis), lastTick);
+            if (deadlineTick <= currentTick) {
+                expired.add(entry.reservationToken);
+                continue;
+            }
+            // The bucket is next visited at lastTick + 1, count the full rotations after that
+            entry.remainingRounds = (deadlineTick - (lastTick + 1)) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(entry);
+        }
+
+        // Never spin more than one rotation, later ticks map onto buckets already visited
+        long firstTick = Math.max(lastTick + 1, currentTick - mask);
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            Iterator<Entry> iterator = buckets[(int) (tick & mask)].iterator();
+            while (iterator.hasNext()) {
+                Entry due = iterator.next();
+                if (due.remainingRounds <= 0 || due.deadlineMillis <= nowMillis) {
+                    expired.add(due.reservationToken);
+                    iterator.remove();
+                } else {
+                    due.remainingRounds--;
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+        return expired;
+    }
+
+    private static final class Entry {
+        private final UUID reservationToken;
+        private final long deadlineMillis;
+        private long remainingRounds;
+
+        private Entry(UUID reservationToken, long deadlineMillis) {
+            this.reservationToken = reservationToken;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Creates reservation partitions ahead of time and moves old ones to reservation_archive. Several nodes may run it.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "inventory.reservation.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationPartitionMaintainer.class);
+
+    // Epoch day of a Monday, the origin partitions are aligned to
+    private static final long ALIGNMENT_ORIGIN = LocalDate.of(1970, 1, 5).toEpochDay();
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties.Archive properties;
+
+    public ReservationPartitionMaintainer(ReservationRepository reservationRepository, PlatformTransactionManager transactionManager,
+                                          InventoryProperties inventoryProperties) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = inventoryProperties.getReservation().getArchive();
+    }
+
+    @PostConstruct
+    public void createPartitions() {
+        createPartitions(LocalDate.now());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.archive.maintenance-interval-ms:3600000}",
+            initialDelayString = "${inventory.reservation.archive.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+        createPartitions(today);
+        archivePartitions(today);
+    }
+
+    void createPartitions(LocalDate today) {
+        int partitionDays = properties.getPartitionDays();
+        LocalDate from = partitionStart(today, partitionDays);
+        NavigableMap<LocalDate, LocalDate> partitions = reservationRepository.findPartitions();
+        for (int i = 0; i <= properties.getPartitionsAhead(); i++, from = from.plusDays(partitionDays)) {
+            LocalDate to = from.plusDays(partitionDays);
+            // Partitions made with an earlier partition-days setting may already cover part of the range
+            Map.Entry<LocalDate, LocalDate> before = partitions.lowerEntry(to);
+            if (before != null && before.getValue().isAfter(from)) {
+                continue;
+            }
+            try {
+                reservationRepository.createPartition(from, to);
+                log.info("Created reservation partition {} to {}", from, to);
+            } catch (DataAccessException e) {
+                // Most likely rows for this range already sit in the default partition
+                log.warn("Could not create reservation partition {} to {}", from, to, e);
+            }
+        }
+    }
+
+    void archivePartitions(LocalDate today) {
+        LocalDate cutoff = today.minusDays(properties.getArchiveAfter().toDays());
+        for (Map.Entry<LocalDate, LocalDate> partition : reservationRepository.findPartitions().entrySet()) {
+            if (partition.getValue().isAfter(cutoff)) {
+                break;
+            }
+            try {
+                Long archived = transactionTemplate.execute(status ->
+                        reservationRepository.archivePartition(partition.getKey(), partition.getValue()));
+                if (archived == null || archived < 0) {
+                    log.info("Kept reservation partition {} to {}, it still holds open reservations", partition.getKey(), partition.getValue());
+                } else {
+                    log.info("Archived {} reservations from partition {} to {}", archived, partition.getKey(), partition.getValue());
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not archive reservation partition {} to {}", partition.getKey(), partition.getValue(), e);
+            }
+        }
+    }
+
+    static LocalDate partitionStart(LocalDate day, int partitionDays) {
+        long offset = Math.floorMod(day.toEpochDay() - ALIGNMENT_ORIGIN, partitionDays);
+        return day.minusDays(offset);
+    }
+}
@@ -0,0 +1,67 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reservation and group tokens as version 7 UUIDs, so new tokens land at the right edge of the unique index.
+ * The random bits come from several DRBG generators instead of the one shared by {@link UUID#randomUUID()}.
+ */
+public final class ReservationTokens {
+
+    private static final SecureRandom[] RANDOMS = new SecureRandom[Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1];
+
+    static {
+        try {
+            for (int i = 0; i < RANDOMS.length; i++) {
+                RANDOMS[i] = SecureRandom.getInstance("DRBG");
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG SecureRandom is not available", e);
+        }
+    }
+
+    private ReservationTokens() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long epochMillis) {
+        SecureRandom random = RANDOMS[ThreadLocalRandom.current().nextInt(RANDOMS.length)];
+        long randomHigh = random.nextLong();
+        long randomLow = random.nextLong();
+        // 48-bit timestamp, version 7, 12 random bits
+        long mostSignificantBits = (epochMillis << 16) | 0x7000L | (randomHigh & 0x0FFFL);
+        // RFC 4122 variant, 62 random bits
+        long leastSignificantBits = (randomLow & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * The {@code created_at} of the reservation made under this token, so a token alone names its partition.
+     */
+    public static LocalDateTime createdAt(UUID token) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(token.getMostSignificantBits() >>> 16), ZoneId.systemDefault());
+    }
+
+    /**
+     * @return the token, or null when {@code token} is not a UUID
+     */
+    public static UUID parse(String token) {
+        if (token == null || token.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
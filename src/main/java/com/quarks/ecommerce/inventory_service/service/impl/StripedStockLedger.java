@@ -0,0 +1,262 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory total/reserved quantities per item, kept in lock-striped open-addressing tables of primitive arrays.
+ */
+public class StripedStockLedger {
+
+    public static final int INSUFFICIENT_STOCK = -1;
+    public static final int UNKNOWN_ITEM = -2;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedStockLedger(int concurrencyLevel) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, concurrencyLevel - 1)) << 1;
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public void put(long itemId, int totalQuantity, int reservedQuantity) {
+        Stripe stripe = stripeFor(itemId);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.insertionSlot(itemId);
+            stripe.totals[slot] = totalQuantity;
+            stripe.reserved[slot] = reservedQuantity;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the remaining available quantity, {@link #INSUFFICIENT_STOCK} or {@link #UNKNOWN_ITEM}
+     */
+    public int reserve(long itemId, int quantity) {
+        Stripe stripe = stripeFor(itemId);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(itemId);
+            if (slot < 0) {
+                return UNKNOWN_ITEM;
+            }
+            int available = stripe.totals[slot] - stripe.reserved[slot];
+            if (available < quantity) {
+                return INSUFFICIENT_STOCK;
+            }
+            stripe.reserved[slot] += quantity;
+            return available - quantity;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves every line or none of them, locking stripes in index order.
+     *
+     * @return {@link #INSUFFICIENT_STOCK} or {@link #UNKNOWN_ITEM} on failure, 0 on success
+     */
+    public int reserveAll(long[] itemIds, int[] quantities) {
+        int[] stripeIndexes = new int[itemIds.length];
+        for (int i = 0; i < itemIds.length; i++) {
+            stripeIndexes[i] = stripeIndex(itemIds[i]);
+        }
+        int[] lockOrder = Arrays.stream(stripeIndexes).distinct().sorted().toArray();
+        for (int index : lockOrder) {
+            stripes[index].lock.lock();
+        }
+        try {
+            int[] slots = new int[itemIds.length];
+            for (int i = 0; i < itemIds.length; i++) {
+                Stripe stripe = stripes[stripeIndexes[i]];
+                slots[i] = stripe.slotOf(itemIds[i]);
+                if (slots[i] < 0) {
+                    return UNKNOWN_ITEM;
+                }
+            }
+            // Lines may repeat an item, so apply tentatively and roll back on the first shortfall
+            for (int i = 0; i < itemIds.length; i++) {
+                Stripe stripe = stripes[stripeIndexes[i]];
+                if (stripe.totals[slots[i]] - stripe.reserved[slots[i]] < quantities[i]) {
+                    for (int j = 0; j < i; j++) {
+                        stripes[stripeIndexes[j]].reserved[slots[j]] -= quantities[j];
+                    }
+                    return INSUFFICIENT_STOCK;
+                }
+                stripe.reserved[slots[i]] += quantities[i];
+            }
+            return 0;
+        } finally {
+            for (int i = lockOrder.length - 1; i >= 0; i--) {
+                stripes[lockOrder[i]].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return the new available quantity or {@link #UNKNOWN_ITEM}
+     */
+    public int release(long itemId, int quantity) {
+        Stripe stripe = stripeFor(itemId);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(itemId);
+            if (slot < 0) {
+                return UNKNOWN_ITEM;
+            }
+            stripe.reserved[slot] -= quantity;
+            return stripe.totals[slot] - stripe.reserved[slot];
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the new available quantity or {@link #UNKNOWN_ITEM}
+     */
+    public int addSupply(long itemId, int quantity) {
+        Stripe stripe = stripeFor(itemId);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(itemId);
+            if (slot < 0) {
+                return UNKNOWN_ITEM;
+            }
+            stripe.totals[slot] += quantity;
+            return stripe.totals[slot] - stripe.reserved[slot];
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return available quantity (never negative) or {@link #UNKNOWN_ITEM}
+     */
+    public int available(long itemId) {
+        Stripe stripe = stripeFor(itemId);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(itemId);
+            return slot < 0 ? UNKNOWN_ITEM : Math.max(0, stripe.totals[slot] - stripe.reserved[slot]);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Copies {total, reserved} of the item into {@code target}.
+     *
+     * @return false if the item is not tracked
+     */
+    public boolean snapshot(long itemId, int[] target) {
+        Stripe stripe = stripeFor(itemId);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(itemId);
+            if (slot < 0) {
+                return false;
+            }
+            target[0] = stripe.totals[slot];
+            target[1] = stripe.reserved[slot];
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(long itemId) {
+        return stripes[stripeIndex(itemId)];
+    }
+
+    private int stripeIndex(long itemId) {
+        return (int) (mix(itemId) >>> 40) & stripeMask;
+    }
+
+    private static long mix(long key) {
+        // Murmur3 64-bit finalizer
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] keys = newKeys(INITIAL_STRIPE_CAPACITY);
+        private int[] totals = new int[INITIAL_STRIPE_CAPACITY];
+        private int[] reserved = new int[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        private int slotOf(long itemId) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(itemId) & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == itemId) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int insertionSlot(long itemId) {
+            if (itemId == EMPTY) {
+                throw new IllegalArgumentException("Item id " + itemId + " is reserved by the ledger");
+            }
+            int existing = slotOf(itemId);
+            if (existing >= 0) {
+                return existing;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = (int) mix(itemId) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = itemId;
+            size++;
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldTotals = totals;
+            int[] oldReserved = reserved;
+            keys = newKeys(oldKeys.length * 2);
+            totals = new int[keys.length];
+            reserved = new int[keys.length];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) {
+                    continue;
+                }
+                int slot = (int) mix(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                totals[slot] = oldTotals[i];
+                reserved[slot] = oldReserved[i];
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyMergeResultDto;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Queues supply deltas from high-frequency feeds and adds them, summed per item, with one upsert per scheduled
+ * flush. Deltas of a transiently failed statement are retried up to {@code max-attempts} flushes.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "jpa", matchIfMissing = true)
+public class SupplyAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplyAggregator.class);
+
+    private static final class PendingSupply {
+        private final CreateSupplyRequestDto supply;
+        private final CompletableFuture<SupplyMergeResultDto> result = new CompletableFuture<>();
+        private int attempts;
+
+        private PendingSupply(CreateSupplyRequestDto supply) {
+            this.supply = supply;
+        }
+    }
+
+    private static final class MergedSupply {
+        private final CreateSupplyRequestDto supply;
+        private final List<PendingSupply> deltas = new ArrayList<>();
+
+        private MergedSupply(Long itemId, String name) {
+            this.supply = new CreateSupplyRequestDto(itemId, name, 0);
+        }
+
+        /**
+         * @return false, leaving this unchanged, if the merged quantity would overflow
+         */
+        private boolean add(PendingSupply delta) {
+            long quantity = (long) supply.getQuantity() + delta.supply.getQuantity();
+            if (quantity > Integer.MAX_VALUE) {
+                return false;
+            }
+            supply.setQuantity((int) quantity);
+            deltas.add(delta);
+            return true;
+        }
+    }
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityCachePublisher cachePublisher;
+    private final RedisStockGate stockGate;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final BlockingQueue<PendingSupply> queue;
+    // Deltas of statements that failed transiently, written before anything newer is drained
+    private final List<PendingSupply> retries = new ArrayList<>();
+
+    public SupplyAggregator(InventoryItemRepository inventoryItemRepository, PlatformTransactionManager transactionManager,
+                            AvailabilityCachePublisher cachePublisher, RedisStockGate stockGate, InventoryProperties inventoryProperties) {
+        InventoryProperties.SupplyAggregation properties = inventoryProperties.getSupplyAggregation();
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cachePublisher = cachePublisher;
+        this.stockGate = stockGate;
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    /**
+     * @return completes with the merged outcome of the delta's item after the flush commits, or null if the queue is full
+     * @throws IllegalArgumentException if the delta has no item id or name, a negative quantity or a version
+     */
+    public CompletableFuture<SupplyMergeResultDto> submit(CreateSupplyRequestDto supply) {
+        String problem = validate(supply);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        PendingSupply pending = new PendingSupply(supply);
+        return queue.offer(pending) ? pending.result : null;
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    private static String validate(CreateSupplyRequestDto supply) {
+        if (supply.getItemId() == null) {
+            return "itemId is missing";
+        }
+        if (supply.getName() == null || supply.getName().isBlank()) {
+            return "name is missing";
+        }
+        if (supply.getQuantity() < 0) {
+            return "quantity must not be negative";
+        }
+        if (supply.getVersion() != null) {
+            return "version cannot be checked for queued supply, deltas are merged";
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.supply-aggregation.flush-interval-ms:100}")
+    public synchronized void flush() {
+        if (!retries.isEmpty()) {
+            List<PendingSupply> retrying = new ArrayList<>(retries);
+            retries.clear();
+            for (int from = 0; from < retrying.size(); from += maxBatchSize) {
+                List<PendingSupply> batch = retrying.subList(from, Math.min(retrying.size(), from + maxBatchSize));
+                if (!write(batch)) {
+                    retries.addAll(retrying.subList(from + batch.size(), retrying.size()));
+                    return;
+                }
+            }
+        }
+        List<PendingSupply> drained = new ArrayList<>(Math.min(maxBatchSize, queue.size()));
+        while (queue.drainTo(drained, maxBatchSize) > 0) {
+            if (!write(drained)) {
+                return;
+            }
+            drained.clear();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void flushOnShutdown() {
+        flush();
+        List<PendingSupply> unwritten = new ArrayList<>(retries);
+        retries.clear();
+        queue.drainTo(unwritten);
+        if (!unwritten.isEmpty()) {
+            fail(unwritten, new IllegalStateException("Supply aggregator shut down before the delta was written"));
+        }
+    }
+
+    /**
+     * @return false if the statement failed transiently
+     */
+    private boolean write(List<PendingSupply> drained) {
+        // A delta that would overflow its item's merged quantity waits for a second statement
+        Map<Long, MergedSupply> merged = new LinkedHashMap<>();
+        List<PendingSupply> overflow = new ArrayList<>();
+        for (PendingSupply delta : drained) {
+            if (!merged.computeIfAbsent(delta.supply.getItemId(), itemId -> new MergedSupply(itemId, delta.supply.getName())).add(delta)) {
+                overflow.add(delta);
+            }
+        }
+
+        Map<Long, Integer> availabilities;
+        try {
+            availabilities = transactionTemplate.execute(status -> {
+                Map<Long, Integer> upserted = inventoryItemRepository.addSupplies(
+                        merged.values().stream().map(item -> item.supply).toList(), LocalDateTime.now());
+                cachePublisher.publishAll(upserted);
+                return upserted;
+            });
+        } catch (RuntimeException e) {
+            return failed(drained, merged.size(), e);
+        }
+        if (stockGate.isEnabled()) {
+            Map<Long, Integer> supplied = new LinkedHashMap<>();
+            for (MergedSupply item : merged.values()) {
+                if (availabilities.containsKey(item.supply.getItemId())) {
+                    supplied.put(item.supply.getItemId(), item.supply.getQuantity());
+                }
+            }
+            stockGate.adjustExisting(supplied);
+        }
+        log.debug("Supply flush merged {} deltas into {} items", drained.size() - overflow.size(), merged.size());
+
+        for (MergedSupply item : merged.values()) {
+            Long itemId = item.supply.getItemId();
+            SupplyMergeResultDto result = new SupplyMergeResultDto(itemId, item.deltas.size(), item.supply.getQuantity(),
+                    availabilities.getOrDefault(itemId, 0));
+            item.deltas.forEach(delta -> delta.result.complete(result));
+        }
+        return overflow.isEmpty() || write(overflow);
+    }
+
+    private boolean failed(List<PendingSupply> drained, int items, RuntimeException e) {
+        if (!isTransient(e)) {
+            log.error("Supply flush of {} deltas for {} items failed", drained.size(), items, e);
+            fail(drained, e);
+            return true;
+        }
+        List<PendingSupply> exhausted = new ArrayList<>();
+        for (PendingSupply delta : drained) {
+            if (++delta.attempts < maxAttempts) {
+                retries.add(delta);
+            } else {
+                exhausted.add(delta);
+            }
+        }
+        log.warn("Supply flush of {} deltas for {} items failed, retrying {} of them on the next flush",
+                drained.size(), items, drained.size() - exhausted.size(), e);
+        if (!exhausted.isEmpty()) {
+            fail(exhausted, e);
+        }
+        return false;
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    // Nobody waits on the futures of acknowledged deltas, so each one is logged for resending
+    private static void fail(List<PendingSupply> deltas, Exception cause) {
+        for (PendingSupply delta : deltas) {
+            log.error("Supply delta not written, resend it: item {} ({}), quantity {}",
+                    delta.supply.getItemId(), delta.supply.getName(), delta.supply.getQuantity());
+            delta.result.completeExceptionally(cause);
+        }
+    }
+}
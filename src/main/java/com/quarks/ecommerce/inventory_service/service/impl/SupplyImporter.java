@@ -0,0 +1,300 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyImportErrorDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyImportResultDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyImportResultDto.Status;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adds supply from a CSV or NDJSON stream in chunks, one transaction each; invalid rows are reported, not fatal.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "jpa", matchIfMissing = true)
+public class SupplyImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplyImporter.class);
+
+    // Finished imports kept for GET /inventory/supply/import
+    private static final int RETAINED_RESULTS = 20;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityCachePublisher cachePublisher;
+    private final RedisStockGate stockGate;
+    private final InventoryProperties.SupplyImport properties;
+    private final ObjectReader csvReader;
+    private final ObjectReader ndjsonReader;
+    // Guarded by itself, in start order
+    private final Map<String, Progress> imports = new LinkedHashMap<>();
+
+    public SupplyImporter(InventoryItemRepository inventoryItemRepository, PlatformTransactionManager transactionManager,
+                          AvailabilityCachePublisher cachePublisher, RedisStockGate stockGate, InventoryProperties inventoryProperties) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cachePublisher = cachePublisher;
+        this.stockGate = stockGate;
+        this.properties = inventoryProperties.getSupplyImport();
+        this.csvReader = new CsvMapper().readerFor(CreateSupplyRequestDto.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.ndjsonReader = new ObjectMapper().readerFor(CreateSupplyRequestDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public SupplyImportResultDto importSupplies(InputStream input, Format format) {
+        Progress progress = new Progress(format);
+        synchronized (imports) {
+            imports.put(progress.importId, progress);
+        }
+        log.info("Supply import {} started ({})", progress.importId, format);
+
+        try {
+            Chunk chunk = new Chunk(progress);
+            if (format == Format.CSV) {
+                readCsv(input, chunk);
+            } else {
+                readNdjson(input, chunk);
+            }
+            chunk.flush();
+            progress.finish(null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Supply import {} failed after {} chunks", progress.importId, progress.chunksCommitted, e);
+            progress.finish(e.getMessage());
+        } finally {
+            retireFinished();
+        }
+
+        SupplyImportResultDto result = progress.snapshot();
+        log.info("Supply import {} {}: {} rows imported, {} rejected, {} items in {} ms", result.getImportId(), result.getStatus(),
+                result.getRowsImported(), result.getRowsRejected(), result.getItemsUpserted(), result.getElapsedMillis());
+        return result;
+    }
+
+    public List<SupplyImportResultDto> imports() {
+        synchronized (imports) {
+            return imports.values().stream().map(Progress::snapshot).toList();
+        }
+    }
+
+    private void readCsv(InputStream input, Chunk chunk) throws IOException {
+        try (MappingIterator<CreateSupplyRequestDto> rows = csvReader.readValues(input)) {
+            while (rows.hasNextValue()) {
+                long line = rows.getCurrentLocation().getLineNr();
+                CreateSupplyRequestDto row;
+                try {
+                    row = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    // The iterator skips the rest of the broken row on the next hasNextValue
+                    chunk.progress.reject(line, e.getOriginalMessage());
+                    continue;
+                }
+                chunk.add(line, row);
+            }
+        }
+    }
+
+    private void readNdjson(InputStream input, Chunk chunk) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long line = 0;
+            for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                CreateSupplyRequestDto row;
+                try {
+                    row = ndjsonReader.readValue(text);
+                } catch (JsonProcessingException e) {
+                    // Covers malformed JSON as well as values that do not map, the next line starts afresh
+                    chunk.progress.reject(line, e.getOriginalMessage());
+                    continue;
+                }
+                chunk.add(line, row);
+            }
+        }
+    }
+
+    private static String validate(CreateSupplyRequestDto row) {
+        if (row.getItemId() == null) {
+            return "itemId is missing";
+        }
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "name is missing";
+        }
+        if (row.getQuantity() < 0) {
+            return "quantity must not be negative";
+        }
+        return null;
+    }
+
+    private void write(List<CreateSupplyRequestDto> rows, List<Long> lines, Progress progress) {
+        Map<Long, Integer> availabilities = transactionTemplate.execute(status -> {
+            Map<Long, Integer> upserted = inventoryItemRepository.upsertSupplies(rows, LocalDateTime.now());
+            cachePublisher.publishAll(upserted);
+            return upserted;
+        });
+        if (stockGate.isEnabled()) {
+            Map<Long, Integer> supplied = new LinkedHashMap<>();
+            for (CreateSupplyRequestDto row : rows) {
+                if (availabilities.containsKey(row.getItemId())) {
+                    supplied.merge(row.getItemId(), row.getQuantity(), Integer::sum);
+                }
+            }
+            stockGate.adjustExisting(supplied);
+        }
+        // Items left out by the upsert would have overflowed their total
+        int skipped = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (!availabilities.containsKey(rows.get(i).getItemId())) {
+                progress.skip(lines.get(i), "quantity would overflow the item's total");
+                skipped++;
+            }
+        }
+        progress.committed(rows.size() - skipped, availabilities.size());
+        log.debug("Supply import {} committed chunk {} ({} rows)", progress.importId, progress.chunksCommitted, rows.size());
+    }
+
+    private void retireFinished() {
+        synchronized (imports) {
+            long finished = imports.values().stream().filter(progress -> progress.status != Status.RUNNING).count();
+            for (Iterator<Progress> iterator = imports.values().iterator(); iterator.hasNext() && finished > RETAINED_RESULTS; ) {
+                if (iterator.next().status != Status.RUNNING) {
+                    iterator.remove();
+                    finished--;
+                }
+            }
+        }
+    }
+
+    // Valid rows waiting to be written, with their line numbers for reporting rows the upsert skips
+    private final class Chunk {
+        private final Progress progress;
+        private List<CreateSupplyRequestDto> rows = new ArrayList<>();
+        private List<Long> lines = new ArrayList<>();
+
+        private Chunk(Progress progress) {
+            this.progress = progress;
+        }
+
+        private void add(long line, CreateSupplyRequestDto row) {
+            String problem = validate(row);
+            if (problem != null) {
+                progress.reject(line, problem);
+                return;
+            }
+            progress.accept();
+            rows.add(row);
+            lines.add(line);
+            if (rows.size() >= properties.getChunkSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                write(rows, lines, progress);
+                rows = new ArrayList<>();
+                lines = new ArrayList<>();
+            }
+        }
+    }
+
+    private final class Progress {
+        private final String importId = UUID.randomUUID().toString();
+        private final Format format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final List<SupplyImportErrorDto> errors = new ArrayList<>();
+        private volatile Status status = Status.RUNNING;
+        private long finishNanos;
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsRejected;
+        private long itemsUpserted;
+        private int chunksCommitted;
+        private String failure;
+
+        private Progress(Format format) {
+            this.format = format;
+        }
+
+        private synchronized void accept() {
+            rowsRead++;
+        }
+
+        private synchronized void reject(long line, String message) {
+            rowsRead++;
+            skip(line, message);
+        }
+
+        // A row already counted as read that did not make it into the table
+        private synchronized void skip(long line, String message) {
+            rowsRejected++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(new SupplyImportErrorDto(line, message));
+            }
+        }
+
+        private synchronized void committed(int rows, int items) {
+            rowsImported += rows;
+            itemsUpserted += items;
+            chunksCommitted++;
+        }
+
+        private synchronized void finish(String failure) {
+            this.failure = failure;
+            this.finishNanos = System.nanoTime();
+            this.status = failure == null ? Status.COMPLETED : Status.FAILED;
+        }
+
+        private synchronized SupplyImportResultDto snapshot() {
+            SupplyImportResultDto result = new SupplyImportResultDto();
+            result.setImportId(importId);
+            result.setStatus(status);
+            result.setFormat(format.name());
+            result.setStartedAt(startedAt);
+            result.setElapsedMillis(((status == Status.RUNNING ? System.nanoTime() : finishNanos) - startNanos) / 1_000_000);
+            result.setRowsRead(rowsRead);
+            result.setRowsImported(rowsImported);
+            result.setRowsRejected(rowsRejected);
+            result.setItemsUpserted(itemsUpserted);
+            result.setChunksCommitted(chunksCommitted);
+            result.setFailure(failure);
+            result.setErrors(List.copyOf(errors));
+            return result;
+        }
+    }
+}
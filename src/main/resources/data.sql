@@ -1,7 +1,7 @@
-INSERT INTO inventory_item (item_id, name, total_quantity, reserved_quantity, version)
+INSERT INTO inventory_item (id, item_id, name, total_quantity, reserved_quantity, version)
 VALUES
-    (101, 'Wireless Mouse', 100, 10, 0),
-    (102, 'Mechanical Keyboard', 50, 5, 0),
-    (103, 'USB-C Charger', 75, 8, 0),
-    (104, 'Noise Cancelling Headphones', 40, 3, 0),
-    (105, 'Webcam HD', 60, 6, 0);
+    (nextval('inventory_item_seq'), 101, 'Wireless Mouse', 100, 10, 0),
+    (nextval('inventory_item_seq'), 102, 'Mechanical Keyboard', 50, 5, 0),
+    (nextval('inventory_item_seq'), 103, 'USB-C Charger', 75, 8, 0),
+    (nextval('inventory_item_seq'), 104, 'Noise Cancelling Headphones', 40, 3, 0),
+    (nextval('inventory_item_seq'), 105, 'Webcam HD', 60, 6, 0);
@@ -0,0 +1,37 @@
+-- Hibernate cannot declare a partitioned table, so the reservation table it created is replaced by one
+-- range-partitioned on created_at. Keys must include the partition key; created_at is taken from the token's own
+-- timestamp (ReservationTokens.createdAt), so the (reservation_token, created_at) key is unique per token and a
+-- lookup by token names its partition. ReservationPartitionMaintainer creates the weekly partitions ahead of time
+-- and archives old ones; the default partition only catches rows no partition covers yet.
+DROP TABLE IF EXISTS reservation;
+
+CREATE TABLE reservation (
+    id                 BIGINT       NOT NULL,
+    item_id            BIGINT       NOT NULL,
+    quantity           INTEGER      NOT NULL,
+    reservation_status VARCHAR(255) NOT NULL,
+    created_at         TIMESTAMP    NOT NULL,
+    expires_at         TIMESTAMP,
+    reserved_by        VARCHAR(255) NOT NULL,
+    reservation_token  UUID         NOT NULL,
+    group_token        UUID,
+    version            BIGINT       NOT NULL,
+    PRIMARY KEY (id, created_at),
+    UNIQUE (reservation_token, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_reservation_status_expires_at ON reservation (reservation_status, expires_at);
+-- Keyset listings seek on (key, created_at, id); INCLUDE carries the rest of the listed columns so a page is read
+-- from the index alone
+CREATE INDEX idx_reservation_reserved_by_created_at ON reservation (reserved_by, created_at, id)
+    INCLUDE (reservation_token, item_id, quantity, reservation_status, expires_at);
+CREATE INDEX idx_reservation_item_id_created_at ON reservation (item_id, created_at, id)
+    INCLUDE (reservation_token, quantity, reservation_status, reserved_by, expires_at);
+CREATE INDEX idx_reservation_status_created_at ON reservation (reservation_status, created_at, id)
+    INCLUDE (reservation_token, item_id, quantity, reserved_by, expires_at);
+DROP INDEX IF EXISTS idx_orders_user_id_created_at;
+CREATE INDEX idx_orders_user_id_created_at ON orders (user_id, created_at, id) INCLUDE (order_status, total_amount, reservation_token);
+-- Backs CheckoutService's check that a cart has at most one checkout in flight
+CREATE UNIQUE INDEX IF NOT EXISTS uq_orders_cart_id_pending ON orders (cart_id) WHERE order_status = 'PENDING';
+
+CREATE TABLE reservation_default PARTITION OF reservation DEFAULT;
@@ -0,0 +1,11 @@
+-- Takes ARGV[1] units from the stock counter in KEYS[1].
+-- Returns the remaining stock, -1 when the counter cannot cover the request, -2 when no counter exists yet.
+local stock = redis.call('GET', KEYS[1])
+if not stock then
+    return -2
+end
+local requested = tonumber(ARGV[1])
+if tonumber(stock) < requested then
+    return -1
+end
+return redis.call('DECRBY', KEYS[1], requested)
@@ -0,0 +1,10 @@
+-- Adds ARGV[i] units (negative to take them) to the stock counter in KEYS[i], skipping counters that were never seeded.
+-- Returns how many counters were adjusted.
+local adjusted = 0
+for i, key in ipairs(KEYS) do
+    if redis.call('EXISTS', key) == 1 then
+        redis.call('INCRBY', key, tonumber(ARGV[i]))
+        adjusted = adjusted + 1
+    end
+end
+return adjusted
@@ -0,0 +1,10 @@
+-- Sets the stock counter in KEYS[i] to ARGV[2i] only if it still holds ARGV[2i-1], the value read before Postgres was.
+-- Returns how many counters were set; the others moved in between and are left for the next run.
+local updated = 0
+for i, key in ipairs(KEYS) do
+    if redis.call('GET', key) == ARGV[2 * i - 1] then
+        redis.call('SET', key, ARGV[2 * i])
+        updated = updated + 1
+    end
+end
+return updated
@@ -0,0 +1,5 @@
+-- Gives ARGV[1] units back to the stock counter in KEYS[1], but never creates a counter that was not seeded.
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -2
+end
+return redis.call('INCRBY', KEYS[1], tonumber(ARGV[1]))
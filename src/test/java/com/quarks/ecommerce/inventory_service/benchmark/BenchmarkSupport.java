@@ -0,0 +1,77 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.InventoryServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Stand-ins shared by the benchmarks: the application context on in-memory H2 or embedded Postgres and a
+ * map-backed Redis template.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static ConfigurableApplicationContext startContext(String... properties) {
+        return new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * The same context on a real Postgres; the H2 profile is kept for its other settings.
+     */
+    static ConfigurableApplicationContext startPostgresContext(EmbeddedPostgres postgres) {
+        return new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                // Command line arguments, profile properties would win over default ones
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.username=postgres", "--spring.datasource.password=");
+    }
+
+    /**
+     * Redis template whose value operations and pipelines go to a local map. Stub-only mocks keep no
+     * invocation history, so they do not grow during a benchmark run.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> RedisTemplate<String, V> redisStandIn() {
+        Map<String, V> store = new ConcurrentHashMap<>();
+        ValueOperations<String, V> valueOperations = mock(ValueOperations.class, withSettings().stubOnly());
+        doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), any());
+        when(valueOperations.setIfAbsent(anyString(), any()))
+                .thenAnswer(invocation -> store.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(valueOperations.get(any())).thenAnswer(invocation -> store.get(invocation.getArgument(0)));
+
+        RedisTemplate<String, V> redisTemplate = mock(RedisTemplate.class, withSettings().stubOnly());
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute((RedisOperations<Object, Object>) (RedisOperations<?, ?>) redisTemplate);
+            return null;
+        });
+        return redisTemplate;
+    }
+}
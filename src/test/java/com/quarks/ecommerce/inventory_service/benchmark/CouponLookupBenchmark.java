@@ -0,0 +1,87 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.entity.Coupon;
+import com.quarks.ecommerce.inventory_service.entity.enums.DiscountType;
+import com.quarks.ecommerce.inventory_service.service.impl.CouponIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coupon lookups and discount application against the in-memory index from several threads, as concurrent
+ * checkouts do: a hit, a miss for an unknown code, and a hit applied to an order total. Read allocation per
+ * operation from {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Threads(4)
+@Fork(1)
+public class CouponLookupBenchmark {
+
+    @Param({"100", "100000"})
+    public int coupons;
+
+    private CouponIndex index;
+    private String[] codes;
+    private BigDecimal total;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Coupon> active = new ArrayList<>(coupons);
+        codes = new String[coupons];
+        for (int i = 0; i < coupons; i++) {
+            Coupon coupon = new Coupon();
+            coupon.setCode("CODE" + i);
+            coupon.setDiscountType(i % 2 == 0 ? DiscountType.PERCENTAGE : DiscountType.FLAT);
+            coupon.setDiscountValue(new BigDecimal(i % 2 == 0 ? "15" : "5.00"));
+            coupon.setExpiryDate(LocalDateTime.now().plusDays(1));
+            active.add(coupon);
+            codes[i] = coupon.getCode();
+        }
+        index = CouponIndex.compile(active, ZoneId.systemDefault(), System.currentTimeMillis());
+        total = new BigDecimal("249.99");
+    }
+
+    @Benchmark
+    public CouponIndex.CompiledCoupon find() {
+        return index.find(codes[ThreadLocalRandom.current().nextInt(coupons)], System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public CouponIndex.CompiledCoupon findUnknown() {
+        return index.find("UNKNOWN", System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public BigDecimal findAndApply() {
+        return index.find(codes[ThreadLocalRandom.current().nextInt(coupons)], System.currentTimeMillis()).apply(total);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CouponLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
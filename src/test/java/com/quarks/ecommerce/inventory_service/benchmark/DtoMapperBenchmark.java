@@ -0,0 +1,113 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.OrderItem;
+import com.quarks.ecommerce.inventory_service.entity.User;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import com.quarks.ecommerce.inventory_service.mapper.InventoryMapper;
+import com.quarks.ecommerce.inventory_service.mapper.OrderMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO copies through ModelMapper, as the service did before, and through the generated mappers: an
+ * inventory item, an order with ten items, and an order mapped by a freshly created mapper, which is what the
+ * first request after startup pays while ModelMapper builds its type maps. Read allocation per copy from
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    @Param({"modelmapper", "generated"})
+    public String mapper;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final InventoryMapper inventoryMapper = Mappers.getMapper(InventoryMapper.class);
+    private final OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+    private InventoryItem item;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        item = new InventoryItem();
+        item.setId(42L);
+        item.setItemId(1001L);
+        item.setName("Benchmark item");
+        item.setTotalQuantity(1_000_000);
+        item.setReservedQuantity(10);
+
+        User user = new User();
+        user.setId(7L);
+        order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("199.90"));
+        order.setCreatedAt(LocalDateTime.now());
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setId((long) i);
+            orderItem.setProductId(1000L + i);
+            orderItem.setQuantity(1);
+            orderItem.setPrice(new BigDecimal("19.99"));
+            orderItem.setOrder(order);
+            items.add(orderItem);
+        }
+        order.setItems(items);
+
+        // Type maps are built on first use, keep that out of the steady-state measurements
+        modelMapper.map(item, InventoryDto.class);
+        modelMapper.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public InventoryDto mapInventoryItem() {
+        return "generated".equals(mapper) ? inventoryMapper.toDto(item) : modelMapper.map(item, InventoryDto.class);
+    }
+
+    @Benchmark
+    public OrderDto mapOrder() {
+        return "generated".equals(mapper) ? orderMapper.toDto(order) : modelMapper.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto mapOrderWithNewMapper() {
+        return "generated".equals(mapper)
+                ? Mappers.getMapper(OrderMapper.class).toDto(order)
+                : new ModelMapper().map(order, OrderDto.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DtoMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
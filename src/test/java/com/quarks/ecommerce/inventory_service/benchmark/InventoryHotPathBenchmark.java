@@ -0,0 +1,74 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.mapper.InventoryMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The small pieces every reservation and availability request goes through: the entity's stock arithmetic,
+ * the generated copy to {@link InventoryDto} and building the Redis cache key.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class InventoryHotPathBenchmark {
+
+    private static final String INVENTORY_CACHE_PREFIX = "inventory_availability:";
+
+    private final InventoryMapper inventoryMapper = Mappers.getMapper(InventoryMapper.class);
+    private InventoryItem item;
+    private Long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        item = new InventoryItem();
+        item.setId(42L);
+        item.setItemId(1001L);
+        item.setName("Benchmark item");
+        item.setTotalQuantity(1_000_000);
+        item.setReservedQuantity(0);
+        // Outside the Long cache, like real item ids
+        itemId = 123_456L;
+    }
+
+    @Benchmark
+    public boolean reserveAndCancel() {
+        boolean reserved = item.reserve(1);
+        item.cancelReservation(1);
+        return reserved;
+    }
+
+    @Benchmark
+    public InventoryDto mapToDto() {
+        return inventoryMapper.toDto(item);
+    }
+
+    @Benchmark
+    public String cacheKey() {
+        return INVENTORY_CACHE_PREFIX + itemId;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InventoryHotPathBenchmark.class.getSimpleName()).build()).run();
+    }
+}
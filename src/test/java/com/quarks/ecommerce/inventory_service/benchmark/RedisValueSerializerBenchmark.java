@@ -0,0 +1,88 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.config.AsciiLongRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing and reading one availability value with the JSON template's serializer versus the numeric
+ * template's ASCII long, with Spring's conversion-based string serializer and a fixed-width binary long (not
+ * usable with INCRBY) for comparison. The bytes each format stores per key are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class RedisValueSerializerBenchmark {
+
+    @Param({"json", "generic-to-string", "ascii-long", "binary-long"})
+    public String format;
+
+    // A typical availability, wide enough that ASCII is not trivially short
+    private final Object value = 12_345;
+    private RedisSerializer<Object> serializer;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        switch (format) {
+            case "json" -> serializer = new GenericJackson2JsonRedisSerializer();
+            case "generic-to-string" -> serializer = (RedisSerializer<Object>) (RedisSerializer<?>) new GenericToStringSerializer<>(Long.class);
+            case "ascii-long" -> serializer = (RedisSerializer<Object>) (RedisSerializer<?>) new AsciiLongRedisSerializer();
+            case "binary-long" -> serializer = (RedisSerializer<Object>) (RedisSerializer<?>) new BinaryLongSerializer();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+        // The numeric template only ever sees longs, the JSON template got the boxed int the engine used to write
+        Object written = "json".equals(format) ? value : ((Integer) value).longValue();
+        serialized = serializer.serialize(written);
+        System.out.printf("%n%s stores %d bytes per availability value%n", format, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize("json".equals(format) ? value : Long.valueOf((Integer) value));
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    private static final class BinaryLongSerializer implements RedisSerializer<Long> {
+        @Override
+        public byte[] serialize(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long deserialize(byte[] bytes) {
+            return bytes == null ? null : ByteBuffer.wrap(bytes).getLong();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisValueSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.mapper.InventoryMapper;
+import com.quarks.ecommerce.inventory_service.repository.InventoryEventRepository;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import com.quarks.ecommerce.inventory_service.service.impl.AvailabilityCachePublisher;
+import com.quarks.ecommerce.inventory_service.service.impl.AvailabilityNearCache;
+import com.quarks.ecommerce.inventory_service.service.impl.InMemoryInventoryServiceImpl;
+import com.quarks.ecommerce.inventory_service.service.impl.InventoryEventOutbox;
+import com.quarks.ecommerce.inventory_service.service.impl.InventoryMetrics;
+import com.quarks.ecommerce.inventory_service.service.impl.InventoryServiceImpl;
+import com.quarks.ecommerce.inventory_service.service.impl.RedisStockGate;
+import com.quarks.ecommerce.inventory_service.service.impl.ReservationExpiryWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reserve-then-cancel round trip and availability lookup on one SKU through the JPA engine and through the
+ * in-memory ledger engine, against H2 and a map-backed Redis. The in-memory figure includes the amortized cost
+ * of its write-behind flushes; lookups on the JPA engine are served by the near cache after the first call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ReservationEngineBenchmark {
+
+    private static final long ITEM_ID = 1L;
+
+    @Param({"jpa", "in-memory"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private ReservationRepository reservationRepository;
+    private InventoryEventRepository inventoryEventRepository;
+    private InventoryService inventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startContext();
+        InventoryItemRepository inventoryItemRepository = context.getBean(InventoryItemRepository.class);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        inventoryEventRepository = context.getBean(InventoryEventRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        // Nothing sweeps the wheel here, keep it from growing with every reservation
+        inventoryProperties.getReservation().getExpiry().setEnabled(false);
+        ReservationExpiryWheel expiryWheel = new ReservationExpiryWheel(inventoryProperties);
+        RedisTemplate<String, Long> redisTemplate = BenchmarkSupport.redisStandIn();
+
+        InventoryItem item = new InventoryItem();
+        item.setItemId(ITEM_ID);
+        item.setName("Benchmark item");
+        item.setTotalQuantity(100_000_000);
+        item.setReservedQuantity(0);
+        inventoryItemRepository.save(item);
+
+        AvailabilityNearCache nearCache = new AvailabilityNearCache(BenchmarkSupport.redisStandIn(), inventoryProperties,
+                context.getBeanProvider(RedisMessageListenerContainer.class));
+        if ("in-memory".equals(engine)) {
+            InMemoryInventoryServiceImpl inMemoryService = new InMemoryInventoryServiceImpl(inventoryItemRepository, reservationRepository,
+                    Mappers.getMapper(InventoryMapper.class), redisTemplate, transactionManager, inventoryProperties, expiryWheel);
+            inMemoryService.warmUp();
+            inventoryService = inMemoryService;
+        } else {
+            inventoryService = new InventoryServiceImpl(inventoryItemRepository, reservationRepository, Mappers.getMapper(InventoryMapper.class), redisTemplate,
+                    transactionManager, inventoryProperties, new RedisStockGate(redisTemplate, inventoryItemRepository, inventoryProperties), expiryWheel,
+                    nearCache, new AvailabilityCachePublisher(redisTemplate, nearCache, inventoryProperties),
+                    new InventoryMetrics(new SimpleMeterRegistry(), inventoryProperties), new InventoryEventOutbox(inventoryEventRepository));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearReservations() {
+        if (inventoryService instanceof InMemoryInventoryServiceImpl inMemoryService) {
+            inMemoryService.flush();
+        }
+        reservationRepository.deleteAllInBatch();
+        inventoryEventRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String reserveAndCancel() {
+        String token = inventoryService.reserveItem(ITEM_ID, 1, "benchmark");
+        return inventoryService.cancelReservation(token);
+    }
+
+    @Benchmark
+    public int getAvailability() {
+        return inventoryService.getAvailability(ITEM_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReservationEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
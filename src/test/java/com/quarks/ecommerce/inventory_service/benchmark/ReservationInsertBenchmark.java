@@ -0,0 +1,181 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.service.impl.ReservationTokens;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation rows inserted per second on Postgres, 50 per transaction: persisted through an identity-mapped twin
+ * of the entity (how every entity was mapped before, one INSERT round trip per row), through the entity with its
+ * pooled sequence (Hibernate batches the inserts) and through the repository's JDBC batch insert.
+ * <p>
+ * Postgres refuses to start as root, so run it as a regular user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@OperationsPerInvocation(ReservationInsertBenchmark.ROWS_PER_TRANSACTION)
+public class ReservationInsertBenchmark {
+
+    static final int ROWS_PER_TRANSACTION = 50;
+
+    @Param({"identity", "sequence", "jdbc-batch"})
+    public String idGeneration;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private ReservationRepository reservationRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = BenchmarkSupport.startPostgresContext(postgres);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        reservationRepository = context.getBean(ReservationRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearReservations() {
+        jdbcTemplate.execute("TRUNCATE reservation, reservation_identity");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void insertReservations() {
+        transactionTemplate.executeWithoutResult(status -> {
+            switch (idGeneration) {
+                case "identity" -> {
+                    for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                        entityManager.persist(new IdentityReservation(reservation()));
+                    }
+                }
+                case "sequence" -> {
+                    for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                        entityManager.persist(reservation());
+                    }
+                }
+                case "jdbc-batch" -> {
+                    List<Reservation> reservations = new ArrayList<>(ROWS_PER_TRANSACTION);
+                    for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                        reservations.add(reservation());
+                    }
+                    reservationRepository.batchInsert(reservations);
+                }
+                default -> throw new IllegalArgumentException("Unknown id generation " + idGeneration);
+            }
+        });
+    }
+
+    private static Reservation reservation() {
+        Reservation reservation = new Reservation();
+        reservation.setItemId(1L);
+        reservation.setQuantity(1);
+        reservation.setReservationStatus(ReservationStatus.RESERVED);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setExpiresAt(reservation.getCreatedAt().plusMinutes(15));
+        reservation.setReservedBy("benchmark");
+        reservation.setReservationToken(ReservationTokens.next());
+        return reservation;
+    }
+
+    /**
+     * The reservation table as it was mapped with an identity id.
+     */
+    @Entity
+    @Table(name = "reservation_identity")
+    public static class IdentityReservation {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        @Column(nullable = false)
+        private Long itemId;
+        @Column(nullable = false)
+        private int quantity;
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private ReservationStatus reservationStatus;
+        @Column(nullable = false)
+        private LocalDateTime createdAt;
+        private LocalDateTime expiresAt;
+        @Column(nullable = false)
+        private String reservedBy;
+        @Column(nullable = false, unique = true)
+        private UUID reservationToken;
+        private UUID groupToken;
+        @Version
+        @Column(nullable = false)
+        private long version;
+
+        protected IdentityReservation() {
+        }
+
+        IdentityReservation(Reservation reservation) {
+            this.itemId = reservation.getItemId();
+            this.quantity = reservation.getQuantity();
+            this.reservationStatus = reservation.getReservationStatus();
+            this.createdAt = reservation.getCreatedAt();
+            this.expiresAt = reservation.getExpiresAt();
+            this.reservedBy = reservation.getReservedBy();
+            this.reservationToken = reservation.getReservationToken();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReservationInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
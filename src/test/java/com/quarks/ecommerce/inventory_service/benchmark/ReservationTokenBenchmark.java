@@ -0,0 +1,168 @@
+package com.quarks.ecommerce.inventory_service.benchmark;
+
+import com.quarks.ecommerce.inventory_service.service.impl.ReservationTokens;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation tokens on a large table: random UUIDs in a varchar column (how tokens were stored before) against
+ * time-ordered {@link ReservationTokens} in a native uuid column. Measures inserts, 50 per transaction, lookups of
+ * a token from the most recent tenth of the table, which is where cancellations land, and generating tokens alone.
+ * Every benchmark runs on several threads, each with its own connection, as concurrent requests do, so contention
+ * on the random generators and on the right edge of the index shows.
+ * <p>
+ * Postgres refuses to start as root, so run it as a regular user.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(4)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ReservationTokenBenchmark {
+
+    static final int ROWS_PER_TRANSACTION = 50;
+
+    @Param({"random-varchar", "v7-uuid"})
+    public String token;
+
+    @Param({"2000000"})
+    public int tableSize;
+
+    private EmbeddedPostgres postgres;
+    private Object[] recentTokens;
+
+    @State(Scope.Thread)
+    public static class Session {
+        private Connection connection;
+        private PreparedStatement insert;
+        private PreparedStatement lookup;
+
+        @Setup(Level.Trial)
+        public void setUp(ReservationTokenBenchmark benchmark) throws SQLException {
+            connection = benchmark.postgres.getPostgresDatabase().getConnection();
+            connection.setAutoCommit(false);
+            insert = connection.prepareStatement("INSERT INTO reservation_token_bench (reservation_token) VALUES (?)");
+            lookup = connection.prepareStatement("SELECT id FROM reservation_token_bench WHERE reservation_token = ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        // Small shared buffers, so the index does not fit in memory and page locality shows
+        postgres = EmbeddedPostgres.builder().setServerConfig("shared_buffers", "32MB").start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            load(connection);
+        }
+    }
+
+    private void load(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE reservation_token_bench (id BIGSERIAL PRIMARY KEY, "
+                    + "reservation_token " + ("v7-uuid".equals(token) ? "UUID" : "VARCHAR(255)") + " NOT NULL UNIQUE, "
+                    + "created_at TIMESTAMP NOT NULL DEFAULT now())");
+        }
+
+        int recent = tableSize / 10;
+        recentTokens = new Object[recent];
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY reservation_token_bench (reservation_token) FROM STDIN");
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < tableSize; i++) {
+            Object next = nextToken();
+            if (i >= tableSize - recent) {
+                recentTokens[i - (tableSize - recent)] = next;
+            }
+            rows.append(next).append('\n');
+            if (rows.length() > 1 << 20 || i == tableSize - 1) {
+                byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+                rows.setLength(0);
+            }
+        }
+        copyIn.endCopy();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE reservation_token_bench");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insertTokens(Session session) throws SQLException {
+        for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+            session.insert.setObject(1, nextToken());
+            session.insert.addBatch();
+        }
+        session.insert.executeBatch();
+        session.connection.commit();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long lookupRecentToken(Session session) throws SQLException {
+        session.lookup.setObject(1, recentTokens[ThreadLocalRandom.current().nextInt(recentTokens.length)]);
+        try (ResultSet resultSet = session.lookup.executeQuery()) {
+            resultSet.next();
+            long id = resultSet.getLong(1);
+            session.connection.commit();
+            return id;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object generateToken() {
+        return nextToken();
+    }
+
+    private Object nextToken() {
+        return "v7-uuid".equals(token) ? ReservationTokens.next() : UUID.randomUUID().toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReservationTokenBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,32 @@
+package com.quarks.ecommerce.inventory_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsciiLongRedisSerializerTest {
+    private final AsciiLongRedisSerializer serializer = new AsciiLongRedisSerializer();
+
+    @Test
+    public void testSerialize_WritesDecimalDigits() {
+        assertThat(serializer.serialize(12345L)).isEqualTo("12345".getBytes(StandardCharsets.US_ASCII));
+        assertThat(serializer.serialize(-3L)).isEqualTo("-3".getBytes(StandardCharsets.US_ASCII));
+        assertThat(serializer.serialize(null)).isNull();
+    }
+
+    @Test
+    public void testDeserialize_ReadsWhatRedisIncrByWrites() {
+        assertThat(serializer.deserialize("42".getBytes(StandardCharsets.US_ASCII))).isEqualTo(42L);
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    public void testDeserialize_RejectsNonNumericValues() {
+        assertThatThrownBy(() -> serializer.deserialize("[\"java.lang.Long\",1]".getBytes(StandardCharsets.US_ASCII)))
+                .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.quarks.ecommerce.inventory_service.controller;
+
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import com.quarks.ecommerce.inventory_service.service.impl.CheckoutService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CheckoutController.class)
+class CheckoutControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private CheckoutService checkoutService;
+
+    @Test
+    @DisplayName("POST /carts/{cartId}/checkout - should return 201 with the completed order")
+    void checkout() throws Exception {
+        when(checkoutService.checkout(1L)).thenReturn(order(OrderStatus.COMPLETE));
+
+        mockMvc.perform(post("/carts/1/checkout"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(99))
+                .andExpect(jsonPath("$.orderStatus").value("COMPLETE"));
+    }
+
+    @Test
+    @DisplayName("POST /carts/{cartId}/checkout - should return 409 with the cancelled order when stock is short")
+    void checkout_insufficientInventory() throws Exception {
+        when(checkoutService.checkout(1L)).thenReturn(order(OrderStatus.CANCELLED));
+
+        mockMvc.perform(post("/carts/1/checkout"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.orderStatus").value("CANCELLED"));
+    }
+
+    @Test
+    @DisplayName("POST /carts/{cartId}/checkout - should return 404 for an unknown cart")
+    void checkout_cartNotFound() throws Exception {
+        when(checkoutService.checkout(2L)).thenThrow(new ResourceNotFoundException("Shopping cart not found with id: 2"));
+
+        mockMvc.perform(post("/carts/2/checkout"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static OrderDto order(OrderStatus status) {
+        OrderDto order = new OrderDto();
+        order.setId(99L);
+        order.setOrderStatus(status);
+        return order;
+    }
+}
@@ -1,33 +1,70 @@
 package com.quarks.ecommerce.inventory_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
 import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
 import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.dto.NearCacheStatsDto;
+import com.quarks.ecommerce.inventory_service.dto.ReservationLineDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyImportResultDto;
 import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import com.quarks.ecommerce.inventory_service.service.impl.AvailabilityNearCache;
+import com.quarks.ecommerce.inventory_service.service.impl.AvailabilityStreamHub;
+import com.quarks.ecommerce.inventory_service.service.impl.KeysetPageWriter;
+import com.quarks.ecommerce.inventory_service.service.impl.SupplyAggregator;
+import com.quarks.ecommerce.inventory_service.service.impl.SupplyImporter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(InventoryController.class)
+@Import(InventoryProperties.class)
 class InventoryControllerTest {
     @Autowired
     private MockMvc mockMvc;
     @MockBean
     private InventoryService inventoryService;
+    @MockBean
+    private AvailabilityNearCache nearCache;
+    @MockBean
+    private AvailabilityStreamHub availabilityStreamHub;
+    @MockBean
+    private SupplyImporter supplyImporter;
+    @MockBean
+    private SupplyAggregator supplyAggregator;
+    @MockBean
+    private KeysetPageWriter keysetPageWriter;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private InventoryProperties inventoryProperties;
 
     @Test
     @DisplayName("POST /inventory - should create or update supply")
@@ -45,6 +82,60 @@ class InventoryControllerTest {
                 .andExpect(content().string("Supply updated for item ID 1, available quantity: 10"));
     }
 
+    @Test
+    @DisplayName("POST /inventory/supply/async - should acknowledge a queued delta with 202")
+    void queueSupply() throws Exception {
+        when(supplyAggregator.submit(any())).thenReturn(new CompletableFuture<>());
+
+        mockMvc.perform(post("/inventory/supply/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateSupplyRequestDto(1L, "Mobile", 10))))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string("Supply of 10 queued for item ID 1"));
+    }
+
+    @Test
+    @DisplayName("POST /inventory/supply/async - should return 503 when the queue is full")
+    void queueSupply_QueueFull() throws Exception {
+        when(supplyAggregator.submit(any())).thenReturn(null);
+
+        mockMvc.perform(post("/inventory/supply/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateSupplyRequestDto(1L, "Mobile", 10))))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("POST /inventory/supply/import - should stream a CSV body to the importer")
+    void importSupplies() throws Exception {
+        SupplyImportResultDto result = new SupplyImportResultDto();
+        result.setStatus(SupplyImportResultDto.Status.COMPLETED);
+        result.setRowsImported(2);
+        when(supplyImporter.importSupplies(any(), eq(SupplyImporter.Format.CSV))).thenReturn(result);
+
+        mockMvc.perform(post("/inventory/supply/import")
+                        .contentType("text/csv")
+                        .content("itemId,name,quantity\n1,Mobile,10\n2,Tablet,5\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsImported").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /inventory/supply/import - should return 500 with the progress when the import fails")
+    void importSupplies_Failed() throws Exception {
+        SupplyImportResultDto result = new SupplyImportResultDto();
+        result.setStatus(SupplyImportResultDto.Status.FAILED);
+        result.setChunksCommitted(3);
+        when(supplyImporter.importSupplies(any(), eq(SupplyImporter.Format.NDJSON))).thenReturn(result);
+
+        mockMvc.perform(post("/inventory/supply/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"itemId\":1,\"name\":\"Mobile\",\"quantity\":10}\n"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.chunksCommitted").value(3));
+    }
+
     @Test
     @DisplayName("POST /inventory/reserve - should reserve item and return token")
     void reserveItem() throws Exception {
@@ -75,6 +166,68 @@ class InventoryControllerTest {
                 .andExpect(content().string("Insufficient Inventory"));
     }
 
+    @Test
+    @DisplayName("POST /inventory/reserve/batch - should reserve all lines and return group token")
+    void reserveItems() throws Exception {
+        BatchReservationRequestDto request = new BatchReservationRequestDto("testUser",
+                List.of(new ReservationLineDto(1L, 2), new ReservationLineDto(2L, 1)));
+
+        when(inventoryService.reserveItems(any()))
+                .thenReturn(new BatchReservationResponseDto("group-token-1", List.of("token-1", "token-2")));
+
+        mockMvc.perform(post("/inventory/reserve/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupToken").value("group-token-1"))
+                .andExpect(jsonPath("$.reservationTokens.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /inventory/reserve/batch - should return 400 if any line is short")
+    void reserveItems_insufficientInventory() throws Exception {
+        BatchReservationRequestDto request = new BatchReservationRequestDto("testUser",
+                List.of(new ReservationLineDto(1L, 200)));
+
+        when(inventoryService.reserveItems(any())).thenReturn(null);
+
+        mockMvc.perform(post("/inventory/reserve/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Insufficient Inventory"));
+    }
+
+    @Test
+    @DisplayName("POST /inventory/reserve/batch - should return 400 for a non-positive quantity")
+    void reserveItems_nonPositiveQuantity() throws Exception {
+        BatchReservationRequestDto request = new BatchReservationRequestDto("testUser",
+                List.of(new ReservationLineDto(1L, 0)));
+
+        when(inventoryService.reserveItems(any())).thenThrow(new IllegalArgumentException("Quantity must be positive, got 0 for item 1"));
+
+        mockMvc.perform(post("/inventory/reserve/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Quantity must be positive, got 0 for item 1"));
+    }
+
+    @Test
+    @DisplayName("POST /inventory/reserve/batch - should return 400 for more lines than the batch limit")
+    void reserveItems_TooManyLines() throws Exception {
+        int maxBatchLines = inventoryProperties.getReservation().getMaxBatchLines();
+        BatchReservationRequestDto request = new BatchReservationRequestDto("testUser",
+                LongStream.rangeClosed(1, maxBatchLines + 1).mapToObj(itemId -> new ReservationLineDto(itemId, 1)).toList());
+
+        mockMvc.perform(post("/inventory/reserve/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("At most " + maxBatchLines + " lines per batch"));
+        verify(inventoryService, never()).reserveItems(any());
+    }
+
     @Test
     @DisplayName("POST /inventory/cancel - should cancel reservation")
     void cancelReservation() throws Exception {
@@ -96,4 +249,121 @@ class InventoryControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("25"));
     }
+
+    @Test
+    @DisplayName("GET /inventory/availability - should return availabilities and unknown ids")
+    void getAvailabilities() throws Exception {
+        when(inventoryService.getAvailabilities(List.of(1L, 2L)))
+                .thenReturn(new BulkAvailabilityResponseDto(Map.of(1L, 5), List.of(2L)));
+
+        mockMvc.perform(get("/inventory/availability").param("itemIds", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availabilities.1").value(5))
+                .andExpect(jsonPath("$.notFoundItemIds[0]").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /inventory/availability - should reject an empty id list")
+    void getAvailabilities_Empty() throws Exception {
+        mockMvc.perform(post("/inventory/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("No item ids given"));
+    }
+
+    @Test
+    @DisplayName("GET /inventory/availability - should reject more ids than the batch limit")
+    void getAvailabilities_TooManyIds() throws Exception {
+        int maxBatchSize = inventoryProperties.getAvailability().getMaxBatchSize();
+
+        mockMvc.perform(get("/inventory/availability").param("itemIds", itemIds(maxBatchSize + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("At most " + maxBatchSize + " item ids per request"));
+        verify(inventoryService, never()).getAvailabilities(any());
+    }
+
+    @Test
+    @DisplayName("POST /inventory/availability - should reject more ids than the batch limit")
+    void getAvailabilitiesForBody_TooManyIds() throws Exception {
+        int maxBatchSize = inventoryProperties.getAvailability().getMaxBatchSize();
+
+        mockMvc.perform(post("/inventory/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + itemIds(maxBatchSize + 1) + "]"))
+                .andExpect(status().isBadRequest());
+        verify(inventoryService, never()).getAvailabilities(any());
+    }
+
+    @Test
+    @DisplayName("GET /inventory/availability/stream - should open an event stream for the items")
+    void streamAvailabilities() throws Exception {
+        when(availabilityStreamHub.getMaxItemsPerSubscriber()).thenReturn(200);
+        when(availabilityStreamHub.subscribe(List.of(1L, 2L))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/inventory/availability/stream").param("itemIds", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("GET /inventory/availability/stream - should reject more items than a subscriber may watch")
+    void streamAvailabilities_TooManyItems() throws Exception {
+        when(availabilityStreamHub.getMaxItemsPerSubscriber()).thenReturn(1);
+
+        mockMvc.perform(get("/inventory/availability/stream").param("itemIds", "1,2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /inventory/availability/stream - should reject more ids than the batch limit")
+    void streamAvailabilities_TooManyIds() throws Exception {
+        when(availabilityStreamHub.getMaxItemsPerSubscriber()).thenReturn(Integer.MAX_VALUE);
+
+        mockMvc.perform(get("/inventory/availability/stream")
+                        .param("itemIds", itemIds(inventoryProperties.getAvailability().getMaxBatchSize() + 1)))
+                .andExpect(status().isBadRequest());
+        verify(availabilityStreamHub, never()).subscribe(any());
+    }
+
+    @Test
+    @DisplayName("GET /inventory/availability/stream - should return 503 when the node takes no more subscribers")
+    void streamAvailabilities_Full() throws Exception {
+        when(availabilityStreamHub.getMaxItemsPerSubscriber()).thenReturn(200);
+        when(availabilityStreamHub.subscribe(any())).thenReturn(null);
+
+        mockMvc.perform(get("/inventory/availability/stream").param("itemIds", "1"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("GET /inventory/cache/stats - should return near cache counters")
+    void getNearCacheStats() throws Exception {
+        when(nearCache.stats()).thenReturn(new NearCacheStatsDto(90, 10, 3, 0.9, 42));
+
+        mockMvc.perform(get("/inventory/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(90))
+                .andExpect(jsonPath("$.missCount").value(10))
+                .andExpect(jsonPath("$.evictionCount").value(3))
+                .andExpect(jsonPath("$.size").value(42));
+    }
+
+    @Test
+    @DisplayName("GET /inventory/reservations - should reject more than one filter")
+    void getReservations_TwoFilters() throws Exception {
+        mockMvc.perform(get("/inventory/reservations").param("reservedBy", "user-1").param("itemId", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /inventory/reservations - should reject a cursor it did not hand out")
+    void getReservations_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/inventory/reservations").param("reservedBy", "user-1").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String itemIds(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
 }
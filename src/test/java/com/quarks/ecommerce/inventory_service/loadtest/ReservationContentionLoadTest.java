@@ -0,0 +1,126 @@
+package com.quarks.ecommerce.inventory_service.loadtest;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties.ReservationMode;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 200 concurrent reservers hammering one SKU, once per reservation mode and once through the reservation combiner.
+ * Prints throughput and the share of calls that gave up after exhausting their retries.
+ */
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("h2")
+class ReservationContentionLoadTest {
+
+    private static final long HOT_ITEM_ID = 9001L;
+    private static final int RESERVERS = 200;
+    private static final int RESERVATIONS_PER_RESERVER = 25;
+
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private InventoryProperties inventoryProperties;
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private RedisTemplate<String, Object> redisTemplate;
+    @MockBean
+    private RedisTemplate<String, Long> numericRedisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        ValueOperations<String, Long> numericValueOperations = mock(ValueOperations.class);
+        when(numericRedisTemplate.opsForValue()).thenReturn(numericValueOperations);
+
+        reservationRepository.deleteAll();
+        inventoryItemRepository.deleteAll();
+        InventoryItem hotItem = new InventoryItem();
+        hotItem.setItemId(HOT_ITEM_ID);
+        hotItem.setName("Flash sale console");
+        hotItem.setTotalQuantity(RESERVERS * RESERVATIONS_PER_RESERVER);
+        hotItem.setReservedQuantity(0);
+        inventoryItemRepository.save(hotItem);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"OPTIMISTIC, false", "ATOMIC, false", "ATOMIC, true"})
+    void reserveHotSku(ReservationMode mode, boolean combining) throws InterruptedException {
+        inventoryProperties.getReservation().setMode(mode);
+        inventoryProperties.getReservation().getCombining().setEnabled(combining);
+        String label = combining ? "COMBINED" : mode.name();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RESERVERS);
+        for (int i = 0; i < RESERVERS; i++) {
+            String reservedBy = "reserver-" + i;
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < RESERVATIONS_PER_RESERVER; j++) {
+                    try {
+                        if (inventoryService.reserveItem(HOT_ITEM_ID, 1, reservedBy) != null) {
+                            succeeded.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        conflicted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        int attempts = RESERVERS * RESERVATIONS_PER_RESERVER;
+        System.out.printf("%-10s reservations=%d succeeded=%d conflicted=%d conflictRate=%.1f%% throughput=%.0f ops/s%n",
+                label, attempts, succeeded.get(), conflicted.get(), 100.0 * conflicted.get() / attempts, attempts / elapsedSeconds);
+        Timer reserveTimer = meterRegistry.get("inventory.service").tag("method", "reserveItem").timer();
+        System.out.printf("%-10s reserveItem mean=%.1f ms max=%.1f ms optimisticRetries=%.0f%n", label,
+                reserveTimer.mean(TimeUnit.MILLISECONDS), reserveTimer.max(TimeUnit.MILLISECONDS),
+                meterRegistry.get("inventory.reservation.optimistic.retries").counter().count());
+
+        InventoryItem hotItem = inventoryItemRepository.findByItemId(HOT_ITEM_ID).orElseThrow();
+        assertThat(hotItem.getReservedQuantity()).isEqualTo(succeeded.get());
+        assertThat(reservationRepository.count()).isEqualTo(succeeded.get());
+        if (mode == ReservationMode.ATOMIC || combining) {
+            assertThat(conflicted.get()).isZero();
+        }
+    }
+}
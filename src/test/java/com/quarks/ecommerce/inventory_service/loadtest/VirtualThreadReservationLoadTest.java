@@ -0,0 +1,136 @@
+package com.quarks.ecommerce.inventory_service.loadtest;
+
+import com.quarks.ecommerce.inventory_service.InventoryServiceApplication;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * POST /inventory/reserve over real HTTP with 400 requests in flight, once with Tomcat on platform threads and once
+ * on virtual threads. Reservations are spread over a set of SKUs so row locks do not serialize everything. The
+ * virtual-thread run needs Java 21, on older runtimes Boot ignores the setting and both runs use platform threads.
+ */
+@Tag("load")
+class VirtualThreadReservationLoadTest {
+
+    private static final long FIRST_ITEM_ID = 7001L;
+    private static final int ITEMS = 64;
+    private static final int IN_FLIGHT = 400;
+    private static final int REQUESTS = 10_000;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void reserveOverHttp(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryServiceApplication.class, RedisStandIns.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("h2")
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN", "server.port=0",
+                        "inventory.reservation.mode=ATOMIC",
+                        "inventory.reservation.expiry.enabled=false",
+                        // A small pool makes the difference between queueing on threads and queueing on connections visible
+                        "spring.datasource.hikari.maximum-pool-size=16",
+                        "server.tomcat.threads.max=200",
+                        "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            InventoryItemRepository inventoryItemRepository = context.getBean(InventoryItemRepository.class);
+            ReservationRepository reservationRepository = context.getBean(ReservationRepository.class);
+            for (int i = 0; i < ITEMS; i++) {
+                InventoryItem item = new InventoryItem();
+                item.setItemId(FIRST_ITEM_ID + i);
+                item.setName("Load test item " + i);
+                item.setTotalQuantity(REQUESTS);
+                item.setReservedQuantity(0);
+                inventoryItemRepository.save(item);
+            }
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            Semaphore inFlight = new Semaphore(IN_FLIGHT);
+            AtomicInteger succeeded = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            List<CompletableFuture<Void>> responses = new ArrayList<>(REQUESTS);
+
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                long itemId = FIRST_ITEM_ID + i % ITEMS;
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                + "/inventory/reserve?itemId=" + itemId + "&quantity=1&reservedBy=load-" + i))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                inFlight.acquire();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .handle((response, error) -> {
+                            inFlight.release();
+                            if (error == null && response.statusCode() == 200) {
+                                succeeded.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                            return null;
+                        }));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+            double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+            System.out.printf("%-8s java=%s requests=%d succeeded=%d failed=%d throughput=%.0f ops/s%n",
+                    virtualThreads ? "virtual" : "platform", Runtime.version().feature(), REQUESTS, succeeded.get(), failed.get(),
+                    REQUESTS / elapsedSeconds);
+
+            assertThat(failed.get()).isZero();
+            assertThat(reservationRepository.count()).isEqualTo(REQUESTS);
+        }
+    }
+
+    /**
+     * No Redis here: both templates answer with empty value operations, which the engine treats as cache misses.
+     */
+    @Configuration
+    static class RedisStandIns {
+
+        @Bean
+        @Primary
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, Object> redisTemplateStandIn() {
+            RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class, withSettings().stubOnly());
+            when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class, withSettings().stubOnly()));
+            return redisTemplate;
+        }
+
+        @Bean
+        @Primary
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, Long> numericRedisTemplateStandIn() {
+            RedisTemplate<String, Long> redisTemplate = mock(RedisTemplate.class, withSettings().stubOnly());
+            when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class, withSettings().stubOnly()));
+            return redisTemplate;
+        }
+    }
+}
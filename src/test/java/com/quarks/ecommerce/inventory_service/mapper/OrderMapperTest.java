@@ -0,0 +1,63 @@
+package com.quarks.ecommerce.inventory_service.mapper;
+
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.OrderItem;
+import com.quarks.ecommerce.inventory_service.entity.User;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderMapperTest {
+    private final OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+
+    @Test
+    public void testToDto_MapsItemsAndUserId() {
+        User user = new User();
+        user.setId(7L);
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setTotalAmount(new BigDecimal("39.98"));
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 5, 10, 0));
+        OrderItem orderItem = new OrderItem();
+        orderItem.setId(11L);
+        orderItem.setProductId(101L);
+        orderItem.setQuantity(2);
+        orderItem.setPrice(new BigDecimal("19.99"));
+        orderItem.setOrder(order);
+        order.setItems(List.of(orderItem));
+
+        OrderDto dto = orderMapper.toDto(order);
+
+        assertThat(dto.getId()).isEqualTo(1L);
+        assertThat(dto.getUserId()).isEqualTo(7L);
+        assertThat(dto.getOrderStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(dto.getTotalAmount()).isEqualByComparingTo("39.98");
+        assertThat(dto.getCreatedAt()).isEqualTo(order.getCreatedAt());
+        assertThat(dto.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getProductId()).isEqualTo(101L);
+            assertThat(item.getQuantity()).isEqualTo(2);
+            assertThat(item.getPrice()).isEqualByComparingTo("19.99");
+        });
+    }
+
+    @Test
+    public void testToDto_WithoutUserOrItems() {
+        Order order = new Order();
+        order.setId(2L);
+
+        OrderDto dto = orderMapper.toDto(order);
+
+        assertThat(dto.getUserId()).isNull();
+        assertThat(dto.getItems()).isNull();
+        assertThat(orderMapper.toDto((OrderItem) null)).isNull();
+    }
+}
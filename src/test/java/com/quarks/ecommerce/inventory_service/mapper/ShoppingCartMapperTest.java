@@ -0,0 +1,43 @@
+package com.quarks.ecommerce.inventory_service.mapper;
+
+import com.quarks.ecommerce.inventory_service.dto.ShoppingCartDto;
+import com.quarks.ecommerce.inventory_service.entity.CartItem;
+import com.quarks.ecommerce.inventory_service.entity.ShoppingCart;
+import com.quarks.ecommerce.inventory_service.entity.User;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShoppingCartMapperTest {
+    private final ShoppingCartMapper shoppingCartMapper = Mappers.getMapper(ShoppingCartMapper.class);
+
+    @Test
+    public void testToDto_MapsItemsAndUserId() {
+        User user = new User();
+        user.setId(7L);
+        ShoppingCart cart = new ShoppingCart();
+        cart.setId(3L);
+        cart.setUser(user);
+        CartItem cartItem = new CartItem();
+        cartItem.setId(21L);
+        cartItem.setProductId(102L);
+        cartItem.setQuantity(1);
+        cartItem.setPrice(new BigDecimal("49.50"));
+        cartItem.setCart(cart);
+        cart.setItems(List.of(cartItem));
+
+        ShoppingCartDto dto = shoppingCartMapper.toDto(cart);
+
+        assertThat(dto.getId()).isEqualTo(3L);
+        assertThat(dto.getUserId()).isEqualTo(7L);
+        assertThat(dto.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getId()).isEqualTo(21L);
+            assertThat(item.getProductId()).isEqualTo(102L);
+            assertThat(item.getPrice()).isEqualByComparingTo("49.50");
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.entity.BillingInfo;
+import com.quarks.ecommerce.inventory_service.entity.CartItem;
+import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.OrderItem;
+import com.quarks.ecommerce.inventory_service.entity.ShoppingCart;
+import com.quarks.ecommerce.inventory_service.entity.User;
+import com.quarks.ecommerce.inventory_service.entity.UserAddress;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements each read case sends, including touching what its caller maps into a DTO, so an
+ * association slipping back to eager fetching or a missing fetch plan shows up as an N+1.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class FetchPlanQueryCountTest {
+
+    private static final int ORDERS = 5;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+    @Autowired
+    private BillingInfoRepository billingInfoRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private Long userId;
+    private Long orderId;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setName("Jane");
+        user.setEmail("jane@example.com");
+        entityManager.persist(user);
+        userId = user.getId();
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setOrderStatus(OrderStatus.COMPLETE);
+            order.setTotalAmount(new BigDecimal("30.00"));
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setProductId(100L + j);
+                item.setQuantity(1);
+                item.setPrice(new BigDecimal("10.00"));
+                item.setOrder(order);
+                items.add(item);
+            }
+            order.setItems(items);
+            entityManager.persist(order);
+            orderId = order.getId();
+        }
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        List<CartItem> cartItems = new ArrayList<>();
+        for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+            CartItem item = new CartItem();
+            item.setProductId(200L + j);
+            item.setQuantity(2);
+            item.setPrice(new BigDecimal("5.00"));
+            item.setCart(cart);
+            cartItems.add(item);
+        }
+        cart.setItems(cartItems);
+        entityManager.persist(cart);
+        cartItems.forEach(entityManager::persist);
+
+        UserAddress address = new UserAddress();
+        address.setCity("Pune");
+        address.setUser(user);
+        BillingInfo billingInfo = new BillingInfo();
+        billingInfo.setUser(user);
+        billingInfo.setBillingAddress(address);
+        entityManager.persist(billingInfo);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testOrderHistory_OneStatementForOrdersAndItems() {
+        List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders).allSatisfy(order -> {
+            assertThat(order.getUser().getId()).isEqualTo(userId);
+            assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testOrderById_DoesNotLoadUser() {
+        Order order = orderRepository.findById(orderId).orElseThrow();
+
+        assertThat(order.getUser().getId()).isEqualTo(userId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCartView_OneStatementForCartAndItems() {
+        ShoppingCart cart = shoppingCartRepository.findByUserId(userId).orElseThrow();
+
+        assertThat(cart.getItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(cart.getUser().getId()).isEqualTo(userId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCheckoutCart_OneStatementForCartAndItems() {
+        Long cartId = shoppingCartRepository.findByUserId(userId).orElseThrow().getId();
+        entityManager.clear();
+        statistics.clear();
+
+        ShoppingCart cart = shoppingCartRepository.findWithItemsById(cartId).orElseThrow();
+
+        assertThat(cart.getItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBilling_OneStatementForBillingAndAddress() {
+        BillingInfo billingInfo = billingInfoRepository.findByUserId(userId).orElseThrow();
+
+        assertThat(billingInfo.getBillingAddress().getCity()).isEqualTo("Pune");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUserById_DoesNotLoadCartBillingOrOrders() {
+        User user = userRepository.findById(userId).orElseThrow();
+
+        assertThat(user.getName()).isEqualTo("Jane");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
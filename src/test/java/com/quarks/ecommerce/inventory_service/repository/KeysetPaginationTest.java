@@ -0,0 +1,130 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import com.quarks.ecommerce.inventory_service.dto.KeysetCursor;
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.dto.ReservationDto;
+import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.OrderItem;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.User;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepositoryCustom.ReservationKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class KeysetPaginationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    public void testStreamReservations_PagesNewestFirstWithoutGapsOrRepeats() {
+        // Two rows share each creation time so the id has to break ties
+        for (int i = 0; i < 7; i++) {
+            persistReservation("user-1", 1L, NOW.minusMinutes(i / 2));
+        }
+        persistReservation("user-2", 1L, NOW);
+        entityManager.flush();
+
+        List<ReservationDto> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        KeysetCursor cursor = null;
+        do {
+            int before = seen.size();
+            cursor = reservationRepository.streamReservations(ReservationKey.RESERVED_BY, "user-1", cursor, 3, seen::add);
+            pageSizes.add(seen.size() - before);
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(3, 3, 1);
+        assertThat(seen).extracting(ReservationDto::getReservedBy).containsOnly("user-1");
+        assertThat(seen).extracting(ReservationDto::getId).doesNotHaveDuplicates().hasSize(7);
+        for (int i = 1; i < seen.size(); i++) {
+            ReservationDto newer = seen.get(i - 1);
+            ReservationDto older = seen.get(i);
+            assertThat(older.getCreatedAt().isBefore(newer.getCreatedAt())
+                    || older.getCreatedAt().equals(newer.getCreatedAt()) && older.getId() < newer.getId()).isTrue();
+        }
+    }
+
+    @Test
+    public void testStreamReservations_FiltersByStatus() {
+        persistReservation("user-1", 1L, NOW);
+        Reservation cancelled = persistReservation("user-1", 1L, NOW.minusMinutes(1));
+        cancelled.setReservationStatus(ReservationStatus.CANCELLED);
+        entityManager.flush();
+
+        List<ReservationDto> seen = new ArrayList<>();
+        KeysetCursor next = reservationRepository.streamReservations(ReservationKey.STATUS, ReservationStatus.CANCELLED, null, 10, seen::add);
+
+        assertThat(next).isNull();
+        assertThat(seen).extracting(ReservationDto::getId).containsExactly(cancelled.getId());
+    }
+
+    @Test
+    public void testStreamOrders_LimitCountsOrdersNotItems() {
+        User user = new User();
+        user.setName("Jane");
+        entityManager.persist(user);
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setOrderStatus(OrderStatus.COMPLETE);
+            order.setTotalAmount(new BigDecimal("20.00"));
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                OrderItem item = new OrderItem();
+                item.setProductId(100L + j);
+                item.setQuantity(1);
+                item.setPrice(new BigDecimal("10.00"));
+                item.setOrder(order);
+                items.add(item);
+            }
+            order.setItems(items);
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+
+        List<OrderDto> first = new ArrayList<>();
+        KeysetCursor next = orderRepository.streamOrders(user.getId(), null, 2, first::add);
+        List<OrderDto> second = new ArrayList<>();
+        KeysetCursor last = orderRepository.streamOrders(user.getId(), next, 2, second::add);
+
+        assertThat(first).hasSize(2).allSatisfy(order -> assertThat(order.getItems()).hasSize(2));
+        assertThat(second).hasSize(1);
+        assertThat(last).isNull();
+        assertThat(KeysetCursor.decode(next.encode())).usingRecursiveComparison().isEqualTo(next);
+    }
+
+    private Reservation persistReservation(String reservedBy, Long itemId, LocalDateTime createdAt) {
+        Reservation reservation = new Reservation();
+        reservation.setItemId(itemId);
+        reservation.setQuantity(1);
+        reservation.setReservationStatus(ReservationStatus.RESERVED);
+        reservation.setReservedBy(reservedBy);
+        reservation.setCreatedAt(createdAt);
+        reservation.setReservationToken(UUID.randomUUID());
+        return entityManager.persist(reservation);
+    }
+}
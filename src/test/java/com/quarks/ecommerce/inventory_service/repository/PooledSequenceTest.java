@@ -0,0 +1,40 @@
+package com.quarks.ecommerce.inventory_service.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PooledSequenceTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    public void testNextIds_UsesWholeBlocksEndingAtEachValue() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("reservation_seq"), eq(2))).thenReturn(List.of(101L, 151L));
+
+        long[] ids = PooledSequence.nextIds(jdbcTemplate, "reservation_seq", 60);
+
+        assertThat(ids).containsExactly(LongStream.rangeClosed(52, 111).toArray());
+    }
+
+    @Test
+    public void testNextIds_FirstValueOnlyCoversItself() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("reservation_seq"), eq(1)))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(51L));
+
+        long[] ids = PooledSequence.nextIds(jdbcTemplate, "reservation_seq", 3);
+
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void testNextIds_NothingToAllocate() {
+        assertThat(PooledSequence.nextIds(jdbcTemplate, "reservation_seq", 0)).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,137 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AvailabilityCachePublisherTest {
+    private RedisTemplate<String, Long> redisTemplate;
+    private ValueOperations<String, Long> valueOperations;
+    private AvailabilityNearCache nearCache;
+    private InventoryProperties inventoryProperties;
+    private AvailabilityCachePublisher cachePublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        nearCache = mock(AvailabilityNearCache.class);
+        inventoryProperties = new InventoryProperties();
+        cachePublisher = new AvailabilityCachePublisher(redisTemplate, nearCache, inventoryProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testPublish_WithoutTransactionDeletesImmediately() {
+        cachePublisher.publish(1L, 5);
+
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
+        verifyNoInteractions(valueOperations);
+        verify(nearCache).updateAll(Map.of(1L, 5));
+    }
+
+    @Test
+    public void testPublish_DeferredUntilCommitAsOneDelete() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cachePublisher.publish(1L, 5);
+        cachePublisher.publish(1L, 4);
+        cachePublisher.publish(2L, 9);
+
+        verify(redisTemplate, never()).delete(anyCollection());
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        verify(redisTemplate).delete(List.of("inventory_availability:1", "inventory_availability:2"));
+        verifyNoInteractions(valueOperations);
+        verify(nearCache).updateAll(Map.of(1L, 4, 2L, 9));
+    }
+
+    @Test
+    public void testPublish_RollbackDiscardsBatch() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cachePublisher.publish(1L, 5);
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(redisTemplate, never()).delete(anyCollection());
+        verifyNoInteractions(nearCache);
+    }
+
+    @Test
+    public void testBackfill_WritesWithTtl() {
+        inventoryProperties.getCachePublish().setTtl(Duration.ofSeconds(30));
+
+        cachePublisher.backfill(Map.of(1L, 5));
+
+        verify(valueOperations).set("inventory_availability:1", 5L, Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void testPublish_RedisFailureIsRetried() {
+        when(redisTemplate.delete(anyCollection())).thenThrow(new RedisConnectionFailureException("down")).thenReturn(1L);
+
+        cachePublisher.publish(1L, 5);
+        assertThat(cachePublisher.pendingRetryCount()).isEqualTo(1);
+
+        cachePublisher.retryFailed();
+
+        verify(redisTemplate, times(2)).delete(List.of("inventory_availability:1"));
+        assertThat(cachePublisher.pendingRetryCount()).isZero();
+    }
+
+    @Test
+    public void testRetryFailed_KeepsDeleteParkedDuringTheRetry() {
+        when(redisTemplate.delete(anyCollection()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenAnswer(invocation -> {
+                    // Another write fails to delete the key while the first delete is being replayed
+                    doThrow(new RedisConnectionFailureException("down")).when(redisTemplate).delete(anyCollection());
+                    cachePublisher.publish(1L, 4);
+                    doReturn(1L).when(redisTemplate).delete(anyCollection());
+                    return 1L;
+                });
+        cachePublisher.publish(1L, 5);
+
+        cachePublisher.retryFailed();
+        assertThat(cachePublisher.pendingRetryCount()).isEqualTo(1);
+        cachePublisher.retryFailed();
+
+        assertThat(cachePublisher.pendingRetryCount()).isZero();
+    }
+
+    @Test
+    public void testPublish_RetryQueueIsBounded() {
+        inventoryProperties.getCachePublish().setMaxPendingRetries(1);
+        when(redisTemplate.delete(anyCollection())).thenThrow(new RedisConnectionFailureException("down"));
+
+        cachePublisher.publish(1L, 5);
+        cachePublisher.publish(2L, 6);
+        cachePublisher.publish(1L, 4);
+
+        assertThat(cachePublisher.pendingRetryCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.NearCacheStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AvailabilityNearCacheTest {
+    private final RedisSerializer<Object> serializer = new GenericJackson2JsonRedisSerializer();
+    private RedisTemplate<String, Object> redisTemplate;
+    private InventoryProperties inventoryProperties;
+    private ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        inventoryProperties = new InventoryProperties();
+        listenerContainer = mock(ObjectProvider.class);
+    }
+
+    @Test
+    public void testUpdate_CachesLocallyAndPublishes() {
+        AvailabilityNearCache nearCache = new AvailabilityNearCache(redisTemplate, inventoryProperties, listenerContainer);
+
+        nearCache.update(1L, 7);
+
+        assertThat(nearCache.get(1L)).isEqualTo(7);
+        verify(redisTemplate).convertAndSend(eq(AvailabilityNearCache.INVALIDATION_CHANNEL), any());
+    }
+
+    @Test
+    public void testOnMessage_InvalidatesEntriesFromOtherNodes() {
+        AvailabilityNearCache writer = new AvailabilityNearCache(redisTemplate, inventoryProperties, listenerContainer);
+        AvailabilityNearCache reader = new AvailabilityNearCache(redisTemplate, inventoryProperties, listenerContainer);
+        reader.put(1L, 10);
+        reader.put(2L, 20);
+        reader.put(3L, 30);
+
+        writer.updateAll(Map.of(1L, 9, 2L, 19));
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(AvailabilityNearCache.INVALIDATION_CHANNEL), payload.capture());
+        DefaultMessage message = new DefaultMessage(AvailabilityNearCache.INVALIDATION_CHANNEL.getBytes(), serializer.serialize(payload.getValue()));
+
+        reader.onMessage(message, null);
+        writer.onMessage(message, null);
+
+        assertThat(reader.get(1L)).isNull();
+        assertThat(reader.get(2L)).isNull();
+        assertThat(reader.get(3L)).isEqualTo(30);
+        assertThat(writer.get(1L)).isEqualTo(9);
+    }
+
+    @Test
+    public void testStats_CountsHitsAndMisses() {
+        AvailabilityNearCache nearCache = new AvailabilityNearCache(redisTemplate, inventoryProperties, listenerContainer);
+        nearCache.put(1L, 5);
+
+        nearCache.get(1L);
+        nearCache.get(1L);
+        nearCache.get(2L);
+
+        NearCacheStatsDto stats = nearCache.stats();
+        assertThat(stats.getHitCount()).isEqualTo(2);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDisabled_NeverCachesOrPublishes() {
+        inventoryProperties.getNearCache().setEnabled(false);
+        inventoryProperties.getAvailabilityStream().setEnabled(false);
+        AvailabilityNearCache nearCache = new AvailabilityNearCache(redisTemplate, inventoryProperties, listenerContainer);
+
+        nearCache.update(1L, 7);
+
+        assertThat(nearCache.get(1L)).isNull();
+        verify(redisTemplate, never()).convertAndSend(any(), any());
+        verifyNoInteractions(listenerContainer);
+    }
+
+    @Test
+    public void testDisabled_StillPublishesForAvailabilityStream() {
+        inventoryProperties.getNearCache().setEnabled(false);
+        AvailabilityNearCache nearCache = new AvailabilityNearCache(redisTemplate, inventoryProperties, listenerContainer);
+
+        nearCache.update(1L, 7);
+
+        assertThat(nearCache.get(1L)).isNull();
+        verify(redisTemplate).convertAndSend(eq(AvailabilityNearCache.INVALIDATION_CHANNEL), any());
+        verifyNoInteractions(listenerContainer);
+    }
+}
@@ -0,0 +1,239 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
+import com.quarks.ecommerce.inventory_service.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.*;
+
+class AvailabilityStreamHubTest {
+    private final RedisSerializer<Object> serializer = new GenericJackson2JsonRedisSerializer();
+    private final Queue<Runnable> sends = new ArrayDeque<>();
+    private RedisTemplate<String, Object> redisTemplate;
+    private ObjectProvider<InventoryService> serviceProvider;
+    private InventoryService inventoryService;
+    private InventoryProperties inventoryProperties;
+    private AvailabilityStreamHub hub;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        inventoryService = mock(InventoryService.class);
+        serviceProvider = mock(ObjectProvider.class);
+        when(serviceProvider.getObject()).thenReturn(inventoryService);
+        inventoryProperties = new InventoryProperties();
+        hub = new AvailabilityStreamHub(redisTemplate, serviceProvider, sends::add, inventoryProperties,
+                mock(ObjectProvider.class));
+        when(inventoryService.getAvailabilities(anyList())).thenAnswer(invocation -> {
+            List<Long> itemIds = invocation.getArgument(0);
+            Map<Long, Integer> availabilities = new LinkedHashMap<>();
+            itemIds.forEach(itemId -> availabilities.put(itemId, itemId.intValue() * 10));
+            return new BulkAvailabilityResponseDto(availabilities, List.of());
+        });
+    }
+
+    @Test
+    public void testRegister_SendsCurrentAvailabilityFirst() {
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        assertThat(hub.register(emitter, List.of(1L, 2L))).isTrue();
+        runSends();
+
+        assertThat(emitter.events).containsExactly(Map.of(1L, 10, 2L, 20));
+    }
+
+    @Test
+    public void testDispatch_CoalescesChangesAndOnlyReadsWatchedItems() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        hub.register(first, List.of(1L));
+        hub.register(second, List.of(1L, 2L));
+        runSends();
+        first.events.clear();
+        second.events.clear();
+        clearInvocations(inventoryService);
+
+        hub.onMessage(message("node-a:1"), null);
+        hub.onMessage(message("node-b:1,3"), null);
+        hub.onMessage(message("node-a:1"), null);
+        hub.dispatch();
+        runSends();
+
+        verify(inventoryService).getAvailabilities(List.of(1L));
+        assertThat(first.events).containsExactly(Map.of(1L, 10));
+        assertThat(second.events).containsExactly(Map.of(1L, 10));
+
+        hub.dispatch();
+        verifyNoMoreInteractions(inventoryService);
+    }
+
+    @Test
+    public void testSlowSubscriber_GetsOnlyTheLatestValues() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L));
+        when(inventoryService.getAvailabilities(List.of(1L)))
+                .thenReturn(new BulkAvailabilityResponseDto(Map.of(1L, 9), List.of()))
+                .thenReturn(new BulkAvailabilityResponseDto(Map.of(1L, 8), List.of()));
+
+        // The initial snapshot has not been written yet, both changes fold into it
+        hub.onMessage(message("node-a:1"), null);
+        hub.dispatch();
+        hub.onMessage(message("node-a:1"), null);
+        hub.dispatch();
+        assertThat(sends).hasSize(1);
+        runSends();
+
+        assertThat(emitter.events).containsExactly(Map.of(1L, 8));
+    }
+
+    @Test
+    public void testFailedSend_RemovesSubscriber() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        hub.register(emitter, List.of(1L));
+
+        runSends();
+
+        assertThat(hub.subscriberCount()).isZero();
+        hub.onMessage(message("node-a:1"), null);
+        hub.dispatch();
+        verify(inventoryService, times(1)).getAvailabilities(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStalledSend_ClosedWithoutWaitingForTheBlockedWrite() throws Exception {
+        inventoryProperties.getAvailabilityStream().setSendTimeout(Duration.ZERO);
+        ExecutorService sendExecutor = Executors.newSingleThreadExecutor();
+        hub = new AvailabilityStreamHub(redisTemplate, serviceProvider, sendExecutor, inventoryProperties, mock(ObjectProvider.class));
+        BlockingEmitter emitter = new BlockingEmitter();
+        hub.register(emitter, List.of(1L));
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), hub::closeStalled);
+
+        assertThat(hub.subscriberCount()).isZero();
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.completedWith).isInstanceOf(TimeoutException.class);
+        sendExecutor.shutdown();
+    }
+
+    @Test
+    public void testClose_CompletesIdleStreams() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L));
+        runSends();
+
+        hub.close();
+
+        assertThat(hub.subscriberCount()).isZero();
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    public void testRegister_FailedInitialReadLeavesNothingRegistered() {
+        when(inventoryService.getAvailabilities(anyList())).thenThrow(new IllegalStateException("Redis down"));
+
+        assertThatThrownBy(() -> hub.register(new RecordingEmitter(), List.of(1L))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(hub.subscriberCount()).isZero();
+        hub.onMessage(message("node-a:1"), null);
+        hub.dispatch();
+        verify(inventoryService, times(1)).getAvailabilities(anyList());
+    }
+
+    @Test
+    public void testRegister_RejectsWhenFullOrDisabled() {
+        inventoryProperties.getAvailabilityStream().setMaxSubscribers(1);
+        assertThat(hub.register(new RecordingEmitter(), List.of(1L))).isTrue();
+
+        assertThat(hub.register(new RecordingEmitter(), List.of(2L))).isFalse();
+
+        inventoryProperties.getAvailabilityStream().setMaxSubscribers(10);
+        inventoryProperties.getAvailabilityStream().setEnabled(false);
+        assertThat(hub.register(new RecordingEmitter(), List.of(2L))).isFalse();
+    }
+
+    private void runSends() {
+        Runnable send;
+        while ((send = sends.poll()) != null) {
+            send.run();
+        }
+    }
+
+    private DefaultMessage message(String payload) {
+        return new DefaultMessage(AvailabilityNearCache.INVALIDATION_CHANNEL.getBytes(), serializer.serialize(payload));
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<Object> events = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(Map.class::isInstance)
+                    .forEach(events::add);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    // Holds its monitor for the whole write like ResponseBodyEmitter does, and only gives up when interrupted
+    private static final class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Throwable completedWith;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new IOException("Write interrupted", e);
+            }
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completedWith = ex;
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.dto.OrderDto;
+import com.quarks.ecommerce.inventory_service.entity.CartItem;
+import com.quarks.ecommerce.inventory_service.entity.Order;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.ShoppingCart;
+import com.quarks.ecommerce.inventory_service.entity.User;
+import com.quarks.ecommerce.inventory_service.entity.enums.OrderStatus;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import com.quarks.ecommerce.inventory_service.mapper.OrderMapper;
+import com.quarks.ecommerce.inventory_service.repository.CartItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.OrderRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import com.quarks.ecommerce.inventory_service.repository.ShoppingCartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+class CheckoutServiceTest {
+    private ShoppingCartRepository shoppingCartRepository;
+    private CartItemRepository cartItemRepository;
+    private OrderRepository orderRepository;
+    private InventoryItemRepository inventoryItemRepository;
+    private ReservationRepository reservationRepository;
+    private AvailabilityCachePublisher cachePublisher;
+    private RedisStockGate stockGate;
+    private CheckoutService checkoutService;
+    private final List<Order> savedOrders = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        shoppingCartRepository = mock(ShoppingCartRepository.class);
+        cartItemRepository = mock(CartItemRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        inventoryItemRepository = mock(InventoryItemRepository.class);
+        reservationRepository = mock(ReservationRepository.class);
+        cachePublisher = mock(AvailabilityCachePublisher.class);
+        stockGate = mock(RedisStockGate.class);
+        checkoutService = new CheckoutService(shoppingCartRepository, cartItemRepository, orderRepository, inventoryItemRepository,
+                reservationRepository, Mappers.getMapper(OrderMapper.class), mock(PlatformTransactionManager.class), cachePublisher, stockGate);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(99L);
+            savedOrders.add(order);
+            return order;
+        });
+    }
+
+    @Test
+    public void testCheckout_ReservesAllLinesAndCompletesOrder() {
+        when(shoppingCartRepository.findWithItemsById(1L)).thenReturn(Optional.of(cart(
+                cartItem(101L, 2, "19.99"), cartItem(102L, 1, "5.00"), cartItem(101L, 1, "19.99"))));
+        List<Reservation> reserved = new ArrayList<>();
+        when(inventoryItemRepository.reserveAll(anyList(), any())).thenAnswer(invocation -> {
+            reserved.addAll(invocation.getArgument(0));
+            return Map.of(101L, 7, 102L, 4);
+        });
+        when(stockGate.isEnabled()).thenReturn(true);
+
+        OrderDto order = checkoutService.checkout(1L);
+
+        assertThat(reserved)
+                .extracting(Reservation::getItemId, Reservation::getQuantity, Reservation::getReservedBy, Reservation::getGroupToken)
+                .containsExactly(tuple(101L, 3, "order:99", order.getReservationToken()), tuple(102L, 1, "order:99", order.getReservationToken()));
+        assertThat(reserved).allSatisfy(reservation -> {
+            assertThat(reservation.getReservationToken()).isNotNull();
+            assertThat(reservation.getReservationStatus()).isEqualTo(ReservationStatus.RESERVED);
+            assertThat(reservation.getExpiresAt()).isNull();
+        });
+        verify(reservationRepository).batchInsert(reserved);
+
+        assertThat(order.getReservationToken()).isNotNull();
+        assertThat(order.getId()).isEqualTo(99L);
+        assertThat(order.getUserId()).isEqualTo(7L);
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.COMPLETE);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("64.97");
+        assertThat(order.getItems()).hasSize(3);
+        assertThat(savedOrders).singleElement().satisfies(saved -> assertThat(saved.getItems()).allMatch(item -> item.getOrder() == saved));
+        verify(orderRepository).updateStatus(99L, OrderStatus.COMPLETE);
+        verify(cartItemRepository).deleteByCartId(1L);
+        verify(cachePublisher).publishAll(Map.of(101L, 7, 102L, 4));
+        verify(stockGate).adjustExisting(Map.of(101L, -3, 102L, -1));
+    }
+
+    @Test
+    public void testCheckout_ShortStockCancelsOrderAndKeepsCart() {
+        when(shoppingCartRepository.findWithItemsById(1L)).thenReturn(Optional.of(cart(cartItem(101L, 2, "19.99"))));
+        when(inventoryItemRepository.reserveAll(any(), any())).thenReturn(Map.of());
+
+        OrderDto order = checkoutService.checkout(1L);
+
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(orderRepository).updateStatus(99L, OrderStatus.CANCELLED);
+        verify(reservationRepository, never()).batchInsert(any());
+        verify(cartItemRepository, never()).deleteByCartId(any());
+        verify(cachePublisher, never()).publishAll(any());
+        verify(stockGate, never()).adjustExisting(any());
+    }
+
+    @Test
+    public void testCheckout_FailedReservationCancelsOrder() {
+        when(shoppingCartRepository.findWithItemsById(1L)).thenReturn(Optional.of(cart(cartItem(101L, 2, "19.99"))));
+        when(inventoryItemRepository.reserveAll(any(), any())).thenReturn(Map.of(101L, 3));
+        doThrow(new IllegalStateException("connection lost")).when(reservationRepository).batchInsert(any());
+
+        assertThatThrownBy(() -> checkoutService.checkout(1L)).isInstanceOf(IllegalStateException.class);
+        verify(orderRepository).updateStatus(99L, OrderStatus.CANCELLED);
+        verify(orderRepository, never()).updateStatus(99L, OrderStatus.COMPLETE);
+        verify(stockGate, never()).adjustExisting(any());
+    }
+
+    @Test
+    public void testCheckout_NonPositiveQuantityIsRejected() {
+        when(shoppingCartRepository.findWithItemsById(1L)).thenReturn(Optional.of(cart(cartItem(101L, 2, "19.99"), cartItem(102L, 0, "5.00"))));
+        when(shoppingCartRepository.findWithItemsById(2L)).thenReturn(Optional.of(cart(cartItem(101L, -1, "19.99"))));
+
+        assertThatThrownBy(() -> checkoutService.checkout(1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> checkoutService.checkout(2L)).isInstanceOf(IllegalArgumentException.class);
+        verify(orderRepository, never()).save(any());
+        verify(inventoryItemRepository, never()).reserveAll(any(), any());
+    }
+
+    @Test
+    public void testCheckout_MissingOrEmptyCart() {
+        when(shoppingCartRepository.findWithItemsById(1L)).thenReturn(Optional.empty());
+        when(shoppingCartRepository.findWithItemsById(2L)).thenReturn(Optional.of(cart()));
+
+        assertThatThrownBy(() -> checkoutService.checkout(1L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> checkoutService.checkout(2L)).isInstanceOf(IllegalArgumentException.class);
+        verify(orderRepository, never()).save(any());
+        verify(inventoryItemRepository, never()).reserveAll(any(), any());
+    }
+
+    @Test
+    public void testCheckout_ConcurrentCheckoutsOfOneCartReserveOnce() throws Exception {
+        // Stands in for the cart row lock: taken by findForUpdateById and released when the transaction ends
+        ReentrantLock cartLock = new ReentrantLock();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        Answer<Void> release = invocation -> {
+            while (cartLock.isHeldByCurrentThread()) {
+                cartLock.unlock();
+            }
+            return null;
+        };
+        doAnswer(release).when(transactionManager).commit(any());
+        doAnswer(release).when(transactionManager).rollback(any());
+        checkoutService = new CheckoutService(shoppingCartRepository, cartItemRepository, orderRepository, inventoryItemRepository,
+                reservationRepository, Mappers.getMapper(OrderMapper.class), transactionManager, cachePublisher, stockGate);
+
+        List<CartItem> items = new CopyOnWriteArrayList<>(List.of(cartItem(101L, 2, "19.99")));
+        Map<Long, OrderStatus> statuses = new ConcurrentHashMap<>();
+        AtomicLong orderIds = new AtomicLong(100);
+        when(shoppingCartRepository.findForUpdateById(1L)).thenAnswer(invocation -> {
+            cartLock.lock();
+            return Optional.empty();
+        });
+        when(shoppingCartRepository.findWithItemsById(1L)).thenAnswer(invocation -> Optional.of(cart(items.toArray(CartItem[]::new))));
+        when(cartItemRepository.deleteByCartId(1L)).thenAnswer(invocation -> {
+            items.clear();
+            return 1;
+        });
+        doAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(orderIds.incrementAndGet());
+            statuses.put(order.getId(), order.getOrderStatus());
+            return order;
+        }).when(orderRepository).save(any(Order.class));
+        when(orderRepository.updateStatus(anyLong(), any())).thenAnswer(invocation -> {
+            statuses.put(invocation.getArgument(0), invocation.getArgument(1));
+            return 1;
+        });
+        when(orderRepository.existsByCartIdAndOrderStatus(1L, OrderStatus.PENDING))
+                .thenAnswer(invocation -> statuses.containsValue(OrderStatus.PENDING));
+        when(inventoryItemRepository.reserveAll(anyList(), any())).thenReturn(Map.of(101L, 8));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return checkoutService.checkout(1L);
+                } catch (IllegalArgumentException e) {
+                    return e;
+                }
+            }));
+        }
+        start.countDown();
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Object> result : results) {
+            outcomes.add(result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        verify(inventoryItemRepository, times(1)).reserveAll(anyList(), any());
+        assertThat(outcomes).filteredOn(OrderDto.class::isInstance).singleElement()
+                .satisfies(order -> assertThat(((OrderDto) order).getOrderStatus()).isEqualTo(OrderStatus.COMPLETE));
+        assertThat(outcomes).filteredOn(IllegalArgumentException.class::isInstance).hasSize(1);
+    }
+
+    private static ShoppingCart cart(CartItem... items) {
+        User user = new User();
+        user.setId(7L);
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(user);
+        cart.setItems(List.of(items));
+        return cart;
+    }
+
+    private static CartItem cartItem(Long productId, int quantity, String price) {
+        CartItem item = new CartItem();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+}
@@ -0,0 +1,74 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.entity.Coupon;
+import com.quarks.ecommerce.inventory_service.entity.enums.DiscountType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 0);
+    private static final long NOW_MILLIS = NOW.toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    @Test
+    public void testApply_PercentageRoundsHalfUpToCents() {
+        CouponIndex index = compile(coupon("TEN", DiscountType.PERCENTAGE, "12.5", null));
+
+        assertThat(index.find("TEN", NOW_MILLIS).apply(new BigDecimal("19.99"))).isEqualByComparingTo("17.49");
+        assertThat(index.find("TEN", NOW_MILLIS).apply(new BigDecimal("19.99")).scale()).isEqualTo(2);
+    }
+
+    @Test
+    public void testApply_FlatNeverGoesBelowZero() {
+        CouponIndex index = compile(coupon("FIVE", DiscountType.FLAT, "5.00", null));
+
+        assertThat(index.find("FIVE", NOW_MILLIS).apply(new BigDecimal("12.30"))).isEqualByComparingTo("7.30");
+        assertThat(index.find("FIVE", NOW_MILLIS).apply(new BigDecimal("3.00"))).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    public void testFind_UnknownOrExpiredCodeIsNull() {
+        CouponIndex index = compile(coupon("SOON", DiscountType.FLAT, "1.00", NOW.plusMinutes(1)));
+
+        assertThat(index.find("NOPE", NOW_MILLIS)).isNull();
+        assertThat(index.find("SOON", NOW_MILLIS)).isNotNull();
+        assertThat(index.find("SOON", NOW_MILLIS + 60_000)).isNull();
+    }
+
+    @Test
+    public void testCompile_LeavesOutExpiredCoupons() {
+        CouponIndex index = compile(coupon("OLD", DiscountType.FLAT, "1.00", NOW.minusDays(1)), coupon("NEW", DiscountType.FLAT, "1.00", null));
+
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWithoutExpired_KeepsInstanceWhenNothingExpired() {
+        CouponIndex index = compile(coupon("SOON", DiscountType.FLAT, "1.00", NOW.plusMinutes(1)), coupon("LATER", DiscountType.FLAT, "1.00", null));
+
+        assertThat(index.withoutExpired(NOW_MILLIS)).isSameAs(index);
+        CouponIndex swept = index.withoutExpired(NOW_MILLIS + 60_000);
+        assertThat(swept.size()).isEqualTo(1);
+        assertThat(swept.find("LATER", NOW_MILLIS + 60_000)).isNotNull();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static CouponIndex compile(Coupon... coupons) {
+        return CouponIndex.compile(List.of(coupons), ZoneOffset.UTC, NOW_MILLIS);
+    }
+
+    private static Coupon coupon(String code, DiscountType type, String value, LocalDateTime expiryDate) {
+        Coupon coupon = new Coupon();
+        coupon.setCode(code);
+        coupon.setDiscountType(type);
+        coupon.setDiscountValue(new BigDecimal(value));
+        coupon.setExpiryDate(expiryDate);
+        return coupon;
+    }
+}
@@ -0,0 +1,144 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.CouponDto;
+import com.quarks.ecommerce.inventory_service.entity.Coupon;
+import com.quarks.ecommerce.inventory_service.entity.enums.DiscountType;
+import com.quarks.ecommerce.inventory_service.mapper.CouponMapper;
+import com.quarks.ecommerce.inventory_service.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CouponServiceTest {
+    private final RedisSerializer<Object> serializer = new GenericJackson2JsonRedisSerializer();
+    private final List<Coupon> table = new ArrayList<>();
+    private CouponRepository couponRepository;
+    private RedisTemplate<String, Object> redisTemplate;
+    private InventoryProperties inventoryProperties;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        couponRepository = mock(CouponRepository.class);
+        redisTemplate = mock(RedisTemplate.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        inventoryProperties = new InventoryProperties();
+        when(couponRepository.findByCode(any())).thenAnswer(invocation -> table.stream()
+                .filter(coupon -> coupon.getCode().equals(invocation.getArgument(0))).findFirst());
+        when(couponRepository.save(any(Coupon.class))).thenAnswer(invocation -> {
+            Coupon coupon = invocation.getArgument(0);
+            if (!table.contains(coupon)) {
+                table.add(coupon);
+            }
+            return coupon;
+        });
+        when(couponRepository.findActive(any())).thenAnswer(invocation -> List.copyOf(table));
+    }
+
+    @Test
+    public void testSave_ReloadsIndexAndPublishes() {
+        CouponService couponService = newCouponService();
+
+        CouponDto saved = couponService.save(new CouponDto("SAVE10", DiscountType.PERCENTAGE, new BigDecimal("10"), null));
+
+        assertThat(saved.getCode()).isEqualTo("SAVE10");
+        assertThat(couponService.apply("SAVE10", new BigDecimal("50.00"))).isEqualByComparingTo("45.00");
+        verify(redisTemplate).convertAndSend(eq(CouponService.INVALIDATION_CHANNEL), any());
+    }
+
+    @Test
+    public void testSave_ReplacesCouponWithSameCode() {
+        CouponService couponService = newCouponService();
+        couponService.save(new CouponDto("SAVE10", DiscountType.PERCENTAGE, new BigDecimal("10"), null));
+
+        couponService.save(new CouponDto("SAVE10", DiscountType.FLAT, new BigDecimal("5.00"), null));
+
+        assertThat(table).hasSize(1);
+        assertThat(couponService.apply("SAVE10", new BigDecimal("50.00"))).isEqualByComparingTo("45.00");
+        assertThat(couponService.apply("SAVE10", new BigDecimal("20.00"))).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    public void testSave_RejectsInvalidCoupon() {
+        CouponService couponService = newCouponService();
+
+        assertThatThrownBy(() -> couponService.save(new CouponDto("BIG", DiscountType.PERCENTAGE, new BigDecimal("150"), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> couponService.save(new CouponDto(" ", DiscountType.FLAT, new BigDecimal("5"), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(couponRepository, never()).save(any());
+        verify(redisTemplate, never()).convertAndSend(any(), any());
+    }
+
+    @Test
+    public void testOnMessage_ReloadsOnlyForOtherNodes() {
+        CouponService writer = newCouponService();
+        CouponService reader = newCouponService();
+        writer.save(new CouponDto("SAVE10", DiscountType.PERCENTAGE, new BigDecimal("10"), null));
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(CouponService.INVALIDATION_CHANNEL), payload.capture());
+        DefaultMessage message = new DefaultMessage(CouponService.INVALIDATION_CHANNEL.getBytes(), serializer.serialize(payload.getValue()));
+        assertThatThrownBy(() -> reader.apply("SAVE10", BigDecimal.TEN)).isInstanceOf(IllegalArgumentException.class);
+        clearInvocations(couponRepository);
+
+        writer.onMessage(message, null);
+        verify(couponRepository, never()).findActive(any());
+        reader.onMessage(message, null);
+
+        verify(couponRepository, times(1)).findActive(any());
+        assertThat(reader.apply("SAVE10", new BigDecimal("50.00"))).isEqualByComparingTo("45.00");
+    }
+
+    @Test
+    public void testReload_WaitsForReloadInProgress() throws InterruptedException {
+        CouponService couponService = newCouponService();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The first reload reads the table before the coupon lands and is held there until a second one queues up
+        when(couponRepository.findActive(any())).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return List.<Coupon>of();
+        }).thenAnswer(invocation -> List.copyOf(table));
+        Thread scheduled = new Thread(couponService::reload);
+        scheduled.start();
+        reading.await();
+
+        Thread saving = new Thread(() -> couponService.save(new CouponDto("SAVE10", DiscountType.PERCENTAGE, new BigDecimal("10"), null)));
+        saving.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (saving.getState() != Thread.State.BLOCKED && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(saving.getState()).isEqualTo(Thread.State.BLOCKED);
+        release.countDown();
+        scheduled.join();
+        saving.join();
+
+        assertThat(couponService.apply("SAVE10", new BigDecimal("50.00"))).isEqualByComparingTo("45.00");
+    }
+
+    @SuppressWarnings("unchecked")
+    private CouponService newCouponService() {
+        return new CouponService(couponRepository, Mappers.getMapper(CouponMapper.class), redisTemplate,
+                mock(PlatformTransactionManager.class), inventoryProperties, mock(ObjectProvider.class));
+    }
+}
@@ -0,0 +1,59 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotSkuTrackerTest {
+
+    @Test
+    public void testTop_OrdersByCount() {
+        HotSkuTracker tracker = new HotSkuTracker(4);
+        record(tracker, 1L, 3);
+        record(tracker, 2L, 7);
+        record(tracker, 3L, 5);
+
+        assertThat(tracker.top(2)).containsExactly(Map.entry(2L, 7L), Map.entry(3L, 5L));
+    }
+
+    @Test
+    public void testRecord_NewItemTakesOverSmallestCounterWhenFull() {
+        HotSkuTracker tracker = new HotSkuTracker(2);
+        record(tracker, 1L, 10);
+        record(tracker, 2L, 2);
+
+        tracker.record(3L);
+
+        assertThat(tracker.top(5)).containsExactly(Map.entry(1L, 10L), Map.entry(3L, 3L));
+    }
+
+    @Test
+    public void testRecord_HeavyHitterSurvivesLongTail() {
+        HotSkuTracker tracker = new HotSkuTracker(4);
+        for (long i = 0; i < 1_000; i++) {
+            tracker.record(42L);
+            tracker.record(10_000L + i);
+        }
+
+        assertThat(tracker.top(1).get(0).getKey()).isEqualTo(42L);
+    }
+
+    @Test
+    public void testDecay_HalvesCountsAndDropsColdItems() {
+        HotSkuTracker tracker = new HotSkuTracker(4);
+        record(tracker, 1L, 8);
+        tracker.record(2L);
+
+        tracker.decay();
+
+        assertThat(tracker.top(5)).containsExactly(Map.entry(1L, 4L));
+    }
+
+    private static void record(HotSkuTracker tracker, long itemId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(itemId);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.ReservationLineDto;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
+import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import com.quarks.ecommerce.inventory_service.mapper.InventoryMapper;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.*;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class InMemoryInventoryServiceImplTest {
+    private InventoryItemRepository inventoryItemRepository;
+    private ReservationRepository reservationRepository;
+    private RedisTemplate<String, Long> redisTemplate;
+    private InventoryProperties inventoryProperties;
+    private InMemoryInventoryServiceImpl inventoryService;
+
+    @BeforeEach
+    public void setUp() {
+        inventoryItemRepository = mock(InventoryItemRepository.class);
+        reservationRepository = mock(ReservationRepository.class);
+        redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Long> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        inventoryProperties = new InventoryProperties();
+
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1L);
+        item.setTotalQuantity(10);
+        item.setReservedQuantity(2);
+        when(inventoryItemRepository.findAll()).thenReturn(List.of(item));
+
+        inventoryService = new InMemoryInventoryServiceImpl(inventoryItemRepository, reservationRepository, Mappers.getMapper(InventoryMapper.class),
+                redisTemplate, mock(PlatformTransactionManager.class), inventoryProperties, mock(ReservationExpiryWheel.class));
+        inventoryService.warmUp();
+    }
+
+    @Test
+    public void testReserveItem_OnlyTouchesMemory() {
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNotNull();
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(3);
+        verify(reservationRepository, never()).batchInsert(any());
+        verify(inventoryItemRepository, never()).adjustStock(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testReserveItem_InsufficientQuantity() {
+        assertThat(inventoryService.reserveItem(1L, 9, "user1")).isNull();
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(8);
+    }
+
+    @Test
+    public void testReserveItem_ItemNotFound() {
+        assertThatThrownBy(() -> inventoryService.reserveItem(2L, 1, "user1"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Product not found with id " + 2L);
+    }
+
+    @Test
+    public void testReserveItems_NonPositiveQuantityIsRejected() {
+        BatchReservationRequestDto request = new BatchReservationRequestDto("user1",
+                List.of(new ReservationLineDto(1L, 2), new ReservationLineDto(1L, -2)));
+
+        assertThatThrownBy(() -> inventoryService.reserveItems(request)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(8);
+    }
+
+    @Test
+    public void testFlush_PersistsReservationsAndStock() {
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        inventoryService.flush();
+
+        verify(reservationRepository).batchInsert(argThat(reservations -> reservations.size() == 1
+                && reservations.get(0).getReservationToken().toString().equals(token)));
+        verify(inventoryItemRepository).adjustStock(1L, 0, 5);
+        verify(redisTemplate).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    public void testFlush_WritesNetChangeSinceLastFlush() {
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1L);
+        item.setTotalQuantity(10);
+        item.setReservedQuantity(2);
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(item));
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+        inventoryService.reserveItem(1L, 1, "user2");
+        inventoryService.cancelReservation(token);
+        inventoryService.createOrUpdateSupply(new CreateSupplyRequestDto(1L, "Item", 4));
+
+        inventoryService.flush();
+        inventoryService.flush();
+
+        verify(inventoryItemRepository).adjustStock(1L, 4, 1);
+        verify(inventoryItemRepository, times(1)).adjustStock(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testReserveItem_RefusedWhileTooManyWritesPending() {
+        inventoryProperties.getInMemory().setMaxPendingWrites(2);
+        String token = inventoryService.reserveItem(1L, 1, "user1");
+        inventoryService.reserveItem(1L, 1, "user1");
+
+        assertThatThrownBy(() -> inventoryService.reserveItem(1L, 1, "user1")).isInstanceOf(IllegalStateException.class);
+        assertThat(inventoryService.cancelReservation(token)).isEqualTo("Reservation cancelled");
+        verify(reservationRepository, never()).batchInsert(any());
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(7);
+
+        inventoryService.flush();
+        assertThat(inventoryService.reserveItem(1L, 1, "user1")).isNotNull();
+    }
+
+    @Test
+    public void testFlush_FailedFlushKeepsChangesForTheNextOne() {
+        doThrow(new IllegalStateException("connection lost")).doNothing().when(reservationRepository).batchInsert(any());
+        inventoryService.reserveItem(1L, 1, "user1");
+        inventoryService.reserveItem(1L, 1, "user1");
+
+        assertThatThrownBy(() -> inventoryService.flush()).isInstanceOf(IllegalStateException.class);
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(6);
+        inventoryService.flush();
+
+        verify(reservationRepository, times(2)).batchInsert(argThat(reservations -> reservations.size() == 2));
+        verify(inventoryItemRepository).adjustStock(1L, 0, 2);
+    }
+
+    @Test
+    public void testCancelReservation_BeforeFlush() {
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(inventoryService.cancelReservation(token)).isEqualTo("Reservation cancelled");
+        assertThat(inventoryService.cancelReservation(token)).isEqualTo("Reservation already cancelled");
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(8);
+        verify(reservationRepository, never()).findByReservationTokenAndCreatedAt(any(), any());
+    }
+
+    @Test
+    public void testCancelReservation_AfterFlushLoadsFromDatabase() {
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+        inventoryService.flush();
+
+        Reservation persisted = new Reservation();
+        persisted.setItemId(1L);
+        persisted.setQuantity(5);
+        persisted.setReservationToken(UUID.fromString(token));
+        persisted.setReservationStatus(ReservationStatus.RESERVED);
+        when(reservationRepository.findByReservationTokenAndCreatedAt(UUID.fromString(token), ReservationTokens.createdAt(UUID.fromString(token)))).thenReturn(Optional.of(persisted));
+
+        assertThat(inventoryService.cancelReservation(token)).isEqualTo("Reservation cancelled");
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(8);
+
+        inventoryService.flush();
+        verify(reservationRepository).updateStatusByTokens(List.of(UUID.fromString(token)), ReservationStatus.CANCELLED);
+    }
+
+    @Test
+    public void testGetAvailabilities_ReportsUnknownItems() {
+        BulkAvailabilityResponseDto response = inventoryService.getAvailabilities(List.of(1L, 2L));
+
+        assertThat(response.getAvailabilities()).containsExactly(entry(1L, 8));
+        assertThat(response.getNotFoundItemIds()).containsExactly(2L);
+    }
+
+    @Test
+    public void testExpireReservations_ReleasesOnlyDueReservations() {
+        String notDue = inventoryService.reserveItem(1L, 3, "user1");
+        inventoryProperties.getReservation().getExpiry().setTtl(Duration.ofMinutes(-1));
+        String overdue = inventoryService.reserveItem(1L, 1, "user3");
+
+        inventoryService.expireReservations(List.of(UUID.fromString(overdue), UUID.fromString(notDue)));
+
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(5);
+        assertThat(inventoryService.cancelReservation(overdue)).isEqualTo("Reservation already expired");
+        assertThat(inventoryService.cancelReservation(notDue)).isEqualTo("Reservation cancelled");
+
+        inventoryService.flush();
+        verify(reservationRepository).updateStatusByTokens(List.of(UUID.fromString(overdue)), ReservationStatus.EXPIRED);
+        verify(reservationRepository).updateStatusByTokens(List.of(UUID.fromString(notDue)), ReservationStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,78 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.entity.InventoryEvent;
+import com.quarks.ecommerce.inventory_service.entity.enums.InventoryEventType;
+import com.quarks.ecommerce.inventory_service.repository.InventoryEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class InventoryEventRelayTest {
+    private InventoryEventRepository inventoryEventRepository;
+    private InMemoryEventSink eventSink;
+    private PlatformTransactionManager transactionManager;
+    private InventoryProperties inventoryProperties;
+    private InventoryEventRelay relay;
+
+    @BeforeEach
+    public void setUp() {
+        inventoryEventRepository = mock(InventoryEventRepository.class);
+        eventSink = new InMemoryEventSink();
+        transactionManager = mock(PlatformTransactionManager.class);
+        inventoryProperties = new InventoryProperties();
+        inventoryProperties.getOutbox().setRelayBatchSize(2);
+        relay = new InventoryEventRelay(inventoryEventRepository, eventSink, transactionManager, inventoryProperties);
+    }
+
+    @Test
+    public void testRelay_PublishesThenDeletesInOrder() {
+        when(inventoryEventRepository.lockOldest(2)).thenReturn(events(1, 2), events(3));
+
+        relay.relay();
+
+        assertThat(eventSink.events()).extracting(InventoryEvent::getId).containsExactly(1L, 2L, 3L);
+        verify(inventoryEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(inventoryEventRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    public void testRelay_FailedPublishKeepsRows() {
+        InventoryEventRelay failingRelay = new InventoryEventRelay(inventoryEventRepository, events -> {
+            throw new IllegalStateException("Redis is down");
+        }, transactionManager, inventoryProperties);
+        when(inventoryEventRepository.lockOldest(2)).thenReturn(events(1));
+
+        failingRelay.relay();
+
+        verify(inventoryEventRepository, never()).deleteAllByIdInBatch(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    public void testRelay_Disabled() {
+        inventoryProperties.getOutbox().setRelayEnabled(false);
+
+        relay.relay();
+
+        verifyNoInteractions(inventoryEventRepository);
+    }
+
+    private static List<InventoryEvent> events(long... ids) {
+        List<InventoryEvent> events = new ArrayList<>();
+        for (long id : ids) {
+            InventoryEvent event = new InventoryEvent(1L, InventoryEventType.RESERVED, -1, 10, ReservationTokens.next(), LocalDateTime.now());
+            event.setId(id);
+            events.add(event);
+        }
+        return events;
+    }
+}
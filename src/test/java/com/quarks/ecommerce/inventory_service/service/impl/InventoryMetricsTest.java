@@ -0,0 +1,54 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryMetricsTest {
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        InventoryProperties inventoryProperties = new InventoryProperties();
+        inventoryProperties.getMetrics().setHotSkuTopK(2);
+        metrics = new InventoryMetrics(meterRegistry, inventoryProperties);
+    }
+
+    @Test
+    public void testPublishHotSkus_ExportsOnlyTopK() {
+        for (int i = 0; i < 6; i++) {
+            metrics.recordOptimisticRetry(1L);
+        }
+        for (int i = 0; i < 4; i++) {
+            metrics.recordOptimisticRetry(2L);
+        }
+        metrics.recordOptimisticRetry(3L);
+
+        metrics.publishHotSkus();
+
+        assertThat(meterRegistry.find("inventory.reservation.hot.sku.conflicts").gauges()).hasSize(2);
+        assertThat(hotSkuGauge("1").value()).isEqualTo(6);
+        assertThat(hotSkuGauge("2").value()).isEqualTo(4);
+        assertThat(meterRegistry.counter("inventory.reservation.optimistic.retries").count()).isEqualTo(11);
+    }
+
+    @Test
+    public void testPublishHotSkus_ColdItemsDropOut() {
+        metrics.recordOptimisticRetry(1L);
+
+        metrics.publishHotSkus();
+        metrics.publishHotSkus();
+
+        assertThat(meterRegistry.find("inventory.reservation.hot.sku.conflicts").gauges()).isEmpty();
+    }
+
+    private Gauge hotSkuGauge(String itemId) {
+        return meterRegistry.get("inventory.reservation.hot.sku.conflicts").tag("item_id", itemId).gauge();
+    }
+}
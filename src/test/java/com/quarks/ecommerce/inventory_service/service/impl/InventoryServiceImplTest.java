@@ -1,52 +1,88 @@
 package com.quarks.ecommerce.inventory_service.service.impl;
 
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.BatchReservationResponseDto;
+import com.quarks.ecommerce.inventory_service.dto.BulkAvailabilityResponseDto;
 import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
 import com.quarks.ecommerce.inventory_service.dto.InventoryDto;
+import com.quarks.ecommerce.inventory_service.dto.ReservationLineDto;
 import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
 import com.quarks.ecommerce.inventory_service.entity.Reservation;
+import com.quarks.ecommerce.inventory_service.entity.enums.InventoryEventType;
 import com.quarks.ecommerce.inventory_service.entity.enums.ReservationStatus;
 import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import com.quarks.ecommerce.inventory_service.mapper.InventoryMapper;
+import com.quarks.ecommerce.inventory_service.repository.InventoryEventRepository;
 import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
 import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Spy;
+import org.mapstruct.factory.Mappers;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
-
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.*;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 @ExtendWith(MockitoExtension.class)
 class InventoryServiceImplTest {
+    private static final UUID TOKEN = UUID.fromString("0190f5a2-3c4d-7e8f-9a0b-1c2d3e4f5a6b");
+
     private InventoryItemRepository inventoryItemRepository;
     private ReservationRepository reservationRepository;
-    @Spy
-    private ModelMapper modelMapper;
-    private RedisTemplate<String, Object> redisTemplate;
-    private ValueOperations<String, Object> valueOperations;
+    private final InventoryMapper inventoryMapper = Mappers.getMapper(InventoryMapper.class);
+    private RedisTemplate<String, Long> redisTemplate;
+    private ValueOperations<String, Long> valueOperations;
+    private PlatformTransactionManager transactionManager;
+    private InventoryProperties inventoryProperties;
+    private RedisStockGate stockGate;
+    private ReservationExpiryWheel expiryWheel;
+    private AvailabilityNearCache nearCache;
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryEventRepository inventoryEventRepository;
     private InventoryServiceImpl inventoryService;
 
     @BeforeEach
     public void setUp() {
         inventoryItemRepository = mock(InventoryItemRepository.class);
         reservationRepository = mock(ReservationRepository.class);
-        modelMapper = new ModelMapper();
         redisTemplate = mock(RedisTemplate.class);
         valueOperations = mock(ValueOperations.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        inventoryProperties = new InventoryProperties();
+        stockGate = mock(RedisStockGate.class);
+        expiryWheel = mock(ReservationExpiryWheel.class);
+        nearCache = mock(AvailabilityNearCache.class);
+        when(nearCache.get(any())).thenReturn(null);
+        meterRegistry = new SimpleMeterRegistry();
+        inventoryEventRepository = mock(InventoryEventRepository.class);
+        InventoryEventOutbox eventOutbox = new InventoryEventOutbox(inventoryEventRepository);
 
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
-        inventoryService = new InventoryServiceImpl(inventoryItemRepository, reservationRepository, modelMapper, redisTemplate);
+        inventoryService = new InventoryServiceImpl(inventoryItemRepository, reservationRepository, inventoryMapper, redisTemplate, transactionManager, inventoryProperties, stockGate, expiryWheel, nearCache,
+                new AvailabilityCachePublisher(redisTemplate, nearCache, inventoryProperties), new InventoryMetrics(meterRegistry, inventoryProperties), eventOutbox);
     }
 
     @Test
@@ -66,7 +102,33 @@ class InventoryServiceImplTest {
 
         assertThat(result.getItemId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Test Item");
-        verify(redisTemplate.opsForValue()).set("inventory_availability:1", 10);
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
+        verify(inventoryEventRepository).batchInsert(argThat(events -> events.size() == 1
+                && events.get(0).getEventType() == InventoryEventType.SUPPLY_ADDED
+                && events.get(0).getQuantityDelta() == 10 && events.get(0).getAvailableQuantity() == 10));
+    }
+
+    @Test
+    public void testCreateOrUpdateSupply_AddsSupplyToGateAfterCommit() {
+        InventoryItem savedItem = new InventoryItem();
+        savedItem.setItemId(1L);
+        savedItem.setName("Test Item");
+        savedItem.setTotalQuantity(10);
+        savedItem.setReservedQuantity(0);
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.empty());
+        when(inventoryItemRepository.save(any())).thenReturn(savedItem);
+        when(stockGate.isEnabled()).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryService.createOrUpdateSupply(new CreateSupplyRequestDto(1L, "Test Item", 10));
+            verify(stockGate, never()).adjustExisting(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(stockGate).adjustExisting(Map.of(1L, 10));
     }
 
     @Test
@@ -83,7 +145,7 @@ class InventoryServiceImplTest {
         String token = inventoryService.reserveItem(1L, 5, "user1");
 
         assertThat(token).isNotNull();
-        verify(redisTemplate.opsForValue()).set("inventory_availability:1", 5);
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
     }
 
     @Test
@@ -100,10 +162,318 @@ class InventoryServiceImplTest {
         assertThat(token).isNull();
     }
 
+    @Test
+    public void testReserveItem_RetriesInFreshTransaction() {
+        InventoryItem staleItem = new InventoryItem();
+        staleItem.setItemId(1L);
+        staleItem.setTotalQuantity(10);
+        staleItem.setReservedQuantity(0);
+        InventoryItem freshItem = new InventoryItem();
+        freshItem.setItemId(1L);
+        freshItem.setTotalQuantity(10);
+        freshItem.setReservedQuantity(2);
+
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(staleItem), Optional.of(freshItem));
+        when(inventoryItemRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(InventoryItem.class, 1L))
+                .thenReturn(freshItem);
+
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNotNull();
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
+        assertThat(meterRegistry.counter("inventory.reservation.optimistic.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testReserveItem_FailsAfterMaxRetries() {
+        when(inventoryItemRepository.findByItemId(1L)).thenAnswer(invocation -> {
+            InventoryItem item = new InventoryItem();
+            item.setItemId(1L);
+            item.setTotalQuantity(10);
+            item.setReservedQuantity(0);
+            return Optional.of(item);
+        });
+        when(inventoryItemRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(InventoryItem.class, 1L));
+
+        assertThatThrownBy(() -> inventoryService.reserveItem(1L, 5, "user1"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Reservation failed due to concurrent updates. Please try again.");
+        verify(transactionManager, times(3)).getTransaction(any());
+        assertThat(meterRegistry.counter("inventory.reservation.optimistic.retries").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("inventory.reservation.optimistic.exhausted").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testReserveItem_AtomicMode() {
+        inventoryProperties.getReservation().setMode(InventoryProperties.ReservationMode.ATOMIC);
+
+        when(inventoryItemRepository.reserveStock(1L, 5)).thenReturn(1);
+        when(inventoryItemRepository.findAvailableQuantityByItemId(1L)).thenReturn(Optional.of(5));
+
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNotNull();
+        verify(inventoryItemRepository, never()).findByItemId(any());
+        verify(inventoryItemRepository, never()).saveAndFlush(any());
+        verify(reservationRepository).save(any());
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
+        verify(inventoryEventRepository).batchInsert(argThat(events -> events.size() == 1
+                && events.get(0).getEventType() == InventoryEventType.RESERVED
+                && events.get(0).getQuantityDelta() == -5 && events.get(0).getReservationToken().toString().equals(token)));
+    }
+
+    @Test
+    public void testReserveItem_CombiningEnabled() {
+        inventoryProperties.getReservation().getCombining().setEnabled(true);
+        inventoryProperties.getReservation().getCombining().setMaxBatchSize(1);
+
+        when(inventoryItemRepository.findAvailableQuantityByItemId(1L)).thenReturn(Optional.of(10), Optional.of(5));
+        when(inventoryItemRepository.reserveStock(1L, 5)).thenReturn(1);
+
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNotNull();
+        verify(inventoryItemRepository, never()).findByItemId(any());
+        verify(reservationRepository).batchInsert(argThat(reservations -> reservations.size() == 1));
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
+    }
+
+    @Test
+    public void testReserveCombined_GrantsInArrivalOrder() {
+        when(inventoryItemRepository.findAvailableQuantityByItemId(1L)).thenReturn(Optional.of(5), Optional.of(0));
+        when(inventoryItemRepository.reserveStock(1L, 5)).thenReturn(1);
+
+        List<String> tokens = inventoryService.reserveCombined(1L, List.of(
+                new ReservationCombiner.PendingReservation(3, "user1"),
+                new ReservationCombiner.PendingReservation(4, "user2"),
+                new ReservationCombiner.PendingReservation(2, "user3")));
+
+        assertThat(tokens).hasSize(3);
+        assertThat(tokens.get(0)).isNotNull();
+        assertThat(tokens.get(1)).isNull();
+        assertThat(tokens.get(2)).isNotNull();
+        verify(inventoryItemRepository).reserveStock(1L, 5);
+        verify(reservationRepository).batchInsert(argThat(reservations -> reservations.size() == 2));
+        verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    public void testReserveCombined_RereadsWhenRowChanged() {
+        when(inventoryItemRepository.findAvailableQuantityByItemId(1L)).thenReturn(Optional.of(5), Optional.of(2), Optional.of(0));
+        when(inventoryItemRepository.reserveStock(1L, 4)).thenReturn(0);
+        when(inventoryItemRepository.reserveStock(1L, 2)).thenReturn(1);
+
+        List<String> tokens = inventoryService.reserveCombined(1L, List.of(
+                new ReservationCombiner.PendingReservation(2, "user1"),
+                new ReservationCombiner.PendingReservation(2, "user2")));
+
+        assertThat(tokens.get(0)).isNotNull();
+        assertThat(tokens.get(1)).isNull();
+        assertThat(meterRegistry.counter("inventory.reservation.optimistic.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testReserveCombined_ItemNotFound() {
+        when(inventoryItemRepository.findAvailableQuantityByItemId(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> inventoryService.reserveCombined(1L, List.of(new ReservationCombiner.PendingReservation(1, "user1"))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(reservationRepository, never()).batchInsert(any());
+    }
+
+    @Test
+    public void testReserveItem_AtomicModeInsufficientQuantity() {
+        inventoryProperties.getReservation().setMode(InventoryProperties.ReservationMode.ATOMIC);
+
+        when(inventoryItemRepository.reserveStock(1L, 5)).thenReturn(0);
+        when(inventoryItemRepository.existsByItemId(1L)).thenReturn(true);
+
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNull();
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    public void testReserveItem_AtomicModeItemNotFound() {
+        inventoryProperties.getReservation().setMode(InventoryProperties.ReservationMode.ATOMIC);
+
+        when(inventoryItemRepository.reserveStock(1L, 5)).thenReturn(0);
+        when(inventoryItemRepository.existsByItemId(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> inventoryService.reserveItem(1L, 5, "user1"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Product not found with id " + 1L);
+    }
+
+    @Test
+    public void testReserveItem_GateRejectsSoldOutWithoutDatabase() {
+        when(stockGate.isEnabled()).thenReturn(true);
+        when(stockGate.tryAcquire(1L, 5)).thenReturn(RedisStockGate.GateResult.SOLD_OUT);
+
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNull();
+        verifyNoInteractions(inventoryItemRepository, reservationRepository, transactionManager);
+    }
+
+    @Test
+    public void testReserveItem_GateReleasesWhenDatabaseRejects() {
+        when(stockGate.isEnabled()).thenReturn(true);
+        when(stockGate.tryAcquire(1L, 5)).thenReturn(RedisStockGate.GateResult.ADMITTED);
+
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1L);
+        item.setTotalQuantity(5);
+        item.setReservedQuantity(5);
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(item));
+
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNull();
+        verify(stockGate).release(1L, 5);
+    }
+
+    @Test
+    public void testReserveItem_GateSeedsUntrackedItemFromReservedRow() {
+        when(stockGate.isEnabled()).thenReturn(true);
+        when(stockGate.tryAcquire(1L, 5)).thenReturn(RedisStockGate.GateResult.NOT_TRACKED);
+
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1L);
+        item.setTotalQuantity(10);
+        item.setReservedQuantity(0);
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(item));
+        when(valueOperations.get("inventory_availability:1")).thenReturn(8L);
+
+        String token = inventoryService.reserveItem(1L, 5, "user1");
+
+        assertThat(token).isNotNull();
+        verify(stockGate).seed(1L, 5);
+        verify(stockGate, never()).release(any(), anyInt());
+    }
+
+    @Test
+    public void testReserveItem_GateDoesNotReseedTrackedItem() {
+        when(stockGate.isEnabled()).thenReturn(true);
+        when(stockGate.tryAcquire(1L, 5)).thenReturn(RedisStockGate.GateResult.ADMITTED);
+        when(stockGate.isTracked(1L)).thenReturn(true);
+
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1L);
+        item.setTotalQuantity(10);
+        item.setReservedQuantity(0);
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(item));
+
+        assertThat(inventoryService.reserveItem(1L, 5, "user1")).isNotNull();
+        verify(stockGate, never()).seed(any(), anyInt());
+    }
+
+    @Test
+    public void testReserveItems_Success() {
+        InventoryItem mouse = new InventoryItem();
+        mouse.setItemId(1L);
+        mouse.setTotalQuantity(10);
+        mouse.setReservedQuantity(0);
+        InventoryItem keyboard = new InventoryItem();
+        keyboard.setItemId(2L);
+        keyboard.setTotalQuantity(4);
+        keyboard.setReservedQuantity(1);
+
+        when(inventoryItemRepository.findByItemIdIn(any())).thenReturn(List.of(mouse, keyboard));
+
+        BatchReservationRequestDto request = new BatchReservationRequestDto("user1",
+                List.of(new ReservationLineDto(1L, 3), new ReservationLineDto(2L, 2), new ReservationLineDto(1L, 2)));
+
+        BatchReservationResponseDto response = inventoryService.reserveItems(request);
+
+        assertThat(response.getGroupToken()).isNotNull();
+        assertThat(response.getReservationTokens()).hasSize(3);
+        assertThat(mouse.getReservedQuantity()).isEqualTo(5);
+        assertThat(keyboard.getReservedQuantity()).isEqualTo(3);
+        verify(inventoryItemRepository, times(1)).findByItemIdIn(any());
+        verify(inventoryItemRepository).saveAllAndFlush(any());
+        verify(reservationRepository).batchInsert(argThat(reservations -> reservations.size() == 3
+                && reservations.stream().allMatch(r -> response.getGroupToken().equals(r.getGroupToken().toString()))));
+        verify(redisTemplate, times(1)).delete(anyCollection());
+        verify(inventoryEventRepository).batchInsert(argThat(events -> events.size() == 3
+                && events.stream().allMatch(event -> event.getEventType() == InventoryEventType.RESERVED)));
+    }
+
+    @Test
+    public void testReserveItems_TakesStockFromGateCounters() {
+        InventoryItem mouse = new InventoryItem();
+        mouse.setItemId(1L);
+        mouse.setTotalQuantity(10);
+        mouse.setReservedQuantity(0);
+        when(inventoryItemRepository.findByItemIdIn(any())).thenReturn(List.of(mouse));
+        when(stockGate.isEnabled()).thenReturn(true);
+
+        inventoryService.reserveItems(new BatchReservationRequestDto("user1",
+                List.of(new ReservationLineDto(1L, 3), new ReservationLineDto(1L, 2))));
+
+        verify(stockGate).adjustExisting(Map.of(1L, -5));
+        verify(stockGate, never()).tryAcquire(any(), anyInt());
+    }
+
+    @Test
+    public void testReserveItems_InsufficientQuantityReservesNothing() {
+        InventoryItem mouse = new InventoryItem();
+        mouse.setItemId(1L);
+        mouse.setTotalQuantity(10);
+        mouse.setReservedQuantity(0);
+        InventoryItem keyboard = new InventoryItem();
+        keyboard.setItemId(2L);
+        keyboard.setTotalQuantity(2);
+        keyboard.setReservedQuantity(2);
+
+        when(inventoryItemRepository.findByItemIdIn(any())).thenReturn(List.of(mouse, keyboard));
+
+        BatchReservationRequestDto request = new BatchReservationRequestDto("user1",
+                List.of(new ReservationLineDto(1L, 3), new ReservationLineDto(2L, 1)));
+
+        BatchReservationResponseDto response = inventoryService.reserveItems(request);
+
+        assertThat(response).isNull();
+        assertThat(mouse.getReservedQuantity()).isEqualTo(0);
+        verify(reservationRepository, never()).batchInsert(any());
+        verify(inventoryItemRepository, never()).saveAllAndFlush(any());
+        verify(inventoryEventRepository, never()).batchInsert(any());
+    }
+
+    @Test
+    public void testReserveItems_ItemNotFound() {
+        when(inventoryItemRepository.findByItemIdIn(any())).thenReturn(List.of());
+
+        BatchReservationRequestDto request = new BatchReservationRequestDto("user1",
+                List.of(new ReservationLineDto(7L, 1)));
+
+        assertThatThrownBy(() -> inventoryService.reserveItems(request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Product not found with id " + 7L);
+    }
+
+    @Test
+    public void testReserveItems_NonPositiveQuantityTouchesNothing() {
+        BatchReservationRequestDto zero = new BatchReservationRequestDto("user1",
+                List.of(new ReservationLineDto(1L, 2), new ReservationLineDto(2L, 0)));
+        BatchReservationRequestDto negative = new BatchReservationRequestDto("user1",
+                List.of(new ReservationLineDto(1L, 5), new ReservationLineDto(1L, -3)));
+
+        assertThatThrownBy(() -> inventoryService.reserveItems(zero)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> inventoryService.reserveItems(negative)).isInstanceOf(IllegalArgumentException.class);
+        verify(inventoryItemRepository, never()).findByItemIdIn(any());
+        verify(inventoryItemRepository, never()).saveAllAndFlush(any());
+    }
+
     @Test
     public void testCancelReservation_Success() {
         Reservation reservation = new Reservation();
-        reservation.setReservationToken("token123");
+        reservation.setReservationToken(TOKEN);
         reservation.setReservationStatus(ReservationStatus.RESERVED);
         reservation.setItemId(1L);
         reservation.setQuantity(5);
@@ -113,34 +483,140 @@ class InventoryServiceImplTest {
         item.setTotalQuantity(10);
         item.setReservedQuantity(5);
 
-        when(reservationRepository.findByReservationToken("token123")).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByReservationTokenAndCreatedAt(TOKEN, ReservationTokens.createdAt(TOKEN))).thenReturn(Optional.of(reservation));
         when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(item));
         when(inventoryItemRepository.save(any())).thenReturn(item);
 
-        String response = inventoryService.cancelReservation("token123");
+        String response = inventoryService.cancelReservation(TOKEN.toString());
 
         assertThat(response).isEqualTo("Reservation cancelled");
         verify(reservationRepository).save(reservation);
-        verify(redisTemplate.opsForValue()).set("inventory_availability:1", 10);
+        verify(inventoryEventRepository).batchInsert(argThat(events -> events.size() == 1
+                && events.get(0).getEventType() == InventoryEventType.CANCELLED
+                && events.get(0).getQuantityDelta() == 5 && events.get(0).getAvailableQuantity() == 10
+                && events.get(0).getReservationToken().equals(TOKEN)));
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
+    }
+
+    @Test
+    public void testCancelReservation_ReleasesGateAfterCommit() {
+        Reservation reservation = new Reservation();
+        reservation.setReservationToken(TOKEN);
+        reservation.setReservationStatus(ReservationStatus.RESERVED);
+        reservation.setItemId(1L);
+        reservation.setQuantity(5);
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1L);
+        item.setTotalQuantity(10);
+        item.setReservedQuantity(5);
+        when(reservationRepository.findByReservationTokenAndCreatedAt(TOKEN, ReservationTokens.createdAt(TOKEN))).thenReturn(Optional.of(reservation));
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(item));
+        when(stockGate.isEnabled()).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryService.cancelReservation(TOKEN.toString());
+            verify(stockGate, never()).release(any(), anyInt());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(stockGate).release(1L, 5);
     }
 
     @Test
     public void testCancelReservation_AlreadyCancelled() {
         Reservation reservation = new Reservation();
-        reservation.setReservationToken("token123");
+        reservation.setReservationToken(TOKEN);
         reservation.setReservationStatus(ReservationStatus.CANCELLED);
 
-        when(reservationRepository.findByReservationToken("token123")).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByReservationTokenAndCreatedAt(TOKEN, ReservationTokens.createdAt(TOKEN))).thenReturn(Optional.of(reservation));
 
-        String result = inventoryService.cancelReservation("token123");
+        String result = inventoryService.cancelReservation(TOKEN.toString());
 
         assertThat(result).isEqualTo("Reservation already cancelled");
         verify(inventoryItemRepository, never()).save(any());
     }
 
+    @Test
+    public void testCancelReservation_AlreadyExpired() {
+        Reservation reservation = new Reservation();
+        reservation.setReservationToken(TOKEN);
+        reservation.setReservationStatus(ReservationStatus.EXPIRED);
+
+        when(reservationRepository.findByReservationTokenAndCreatedAt(TOKEN, ReservationTokens.createdAt(TOKEN))).thenReturn(Optional.of(reservation));
+
+        String result = inventoryService.cancelReservation(TOKEN.toString());
+
+        assertThat(result).isEqualTo("Reservation already expired");
+        verify(inventoryItemRepository, never()).save(any());
+    }
+
+    @Test
+    public void testCancelReservation_Archived() {
+        when(reservationRepository.findByReservationTokenAndCreatedAt(TOKEN, ReservationTokens.createdAt(TOKEN))).thenReturn(Optional.empty());
+        when(reservationRepository.findArchivedStatus(TOKEN)).thenReturn(Optional.of(ReservationStatus.EXPIRED));
+
+        String result = inventoryService.cancelReservation(TOKEN.toString());
+
+        assertThat(result).isEqualTo("Reservation already expired");
+        verify(inventoryItemRepository, never()).findByItemId(any());
+    }
+
+    @Test
+    public void testCancelReservation_MalformedToken() {
+        assertThatThrownBy(() -> inventoryService.cancelReservation("token123"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("token is not valid");
+        verify(reservationRepository, never()).findByReservationTokenAndCreatedAt(any(), any());
+    }
+
+    @Test
+    public void testReserveItem_SchedulesExpiry() {
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1L);
+        item.setTotalQuantity(10);
+        item.setReservedQuantity(0);
+        when(inventoryItemRepository.findByItemId(1L)).thenReturn(Optional.of(item));
+        when(inventoryItemRepository.save(any())).thenReturn(item);
+
+        String token = inventoryService.reserveItem(1L, 2, "user1");
+
+        verify(expiryWheel).schedule(eq(UUID.fromString(token)), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testExpireReservations_RefreshesCache() {
+        List<UUID> tokens = List.of(ReservationTokens.next(), ReservationTokens.next());
+        when(reservationRepository.expireReservations(eq(tokens), any())).thenReturn(Map.of(1L, 7));
+
+        inventoryService.expireReservations(tokens);
+
+        verify(redisTemplate).delete(List.of("inventory_availability:1"));
+        verify(stockGate, never()).adjustExisting(any());
+    }
+
+    @Test
+    public void testExpireReservations_NothingExpired() {
+        when(reservationRepository.expireReservations(any(), any())).thenReturn(Map.of());
+
+        inventoryService.expireReservations(List.of(TOKEN));
+
+        verify(valueOperations, never()).set(any(), any());
+    }
+
+    @Test
+    public void testGetAvailability_FromNearCache() {
+        when(nearCache.get(1L)).thenReturn(12);
+
+        assertThat(inventoryService.getAvailability(1L)).isEqualTo(12);
+        verify(valueOperations, never()).get(any());
+    }
+
     @Test
     public void testGetAvailability_FromCache() {
-        when(valueOperations.get("inventory_availability:1")).thenReturn(20);
+        when(valueOperations.get("inventory_availability:1")).thenReturn(20L);
 
         int availability = inventoryService.getAvailability(1L);
 
@@ -162,7 +638,8 @@ class InventoryServiceImplTest {
         int availability = inventoryService.getAvailability(1L);
 
         assertThat(availability).isEqualTo(6);
-        verify(redisTemplate.opsForValue()).set("inventory_availability:1", 6);
+        verify(valueOperations).set("inventory_availability:1", 6L, Duration.ofMinutes(1));
+        assertThat(meterRegistry.counter("inventory.availability.lookups", "source", "database").count()).isEqualTo(1);
     }
 
     @Test
@@ -175,4 +652,29 @@ class InventoryServiceImplTest {
                 .hasMessage("Inventory item is not found with id " + 1L);
     }
 
+    @Test
+    public void testGetAvailabilities_MultiGetThenSingleQuery() {
+        when(nearCache.get(1L)).thenReturn(4);
+        when(valueOperations.multiGet(List.of("inventory_availability:2", "inventory_availability:3", "inventory_availability:4")))
+                .thenReturn(Arrays.asList(8L, null, null));
+
+        InventoryItem item = new InventoryItem();
+        item.setItemId(3L);
+        item.setTotalQuantity(10);
+        item.setReservedQuantity(1);
+        when(inventoryItemRepository.findByItemIdIn(List.of(3L, 4L))).thenReturn(List.of(item));
+
+        BulkAvailabilityResponseDto response = inventoryService.getAvailabilities(List.of(1L, 2L, 3L, 4L, 2L));
+
+        assertThat(response.getAvailabilities()).containsExactly(entry(1L, 4), entry(2L, 8), entry(3L, 9));
+        assertThat(response.getNotFoundItemIds()).containsExactly(4L);
+        verify(inventoryItemRepository, never()).findByItemId(any());
+        verify(valueOperations).set("inventory_availability:3", 9L, Duration.ofMinutes(1));
+        verify(nearCache, never()).updateAll(any());
+        assertThat(meterRegistry.counter("inventory.availability.lookups", "source", "near_cache").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("inventory.availability.lookups", "source", "redis").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("inventory.availability.lookups", "source", "database").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("inventory.availability.backfills").count()).isEqualTo(1);
+    }
+
 }
\ No newline at end of file
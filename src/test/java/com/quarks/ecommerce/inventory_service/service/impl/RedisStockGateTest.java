@@ -0,0 +1,180 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.entity.InventoryItem;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class RedisStockGateTest {
+    private RedisTemplate<String, Long> redisTemplate;
+    private ValueOperations<String, Long> valueOperations;
+    private InventoryItemRepository inventoryItemRepository;
+    private InventoryProperties inventoryProperties;
+    private RedisStockGate stockGate;
+
+    @BeforeEach
+    public void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        inventoryItemRepository = mock(InventoryItemRepository.class);
+        inventoryProperties = new InventoryProperties();
+        inventoryProperties.getReservation().getRedisGate().setEnabled(true);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        stockGate = new RedisStockGate(redisTemplate, inventoryItemRepository, inventoryProperties);
+    }
+
+    @Test
+    public void testTryAcquire_Admitted() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("inventory_stock:1")), eq(5L))).thenReturn(3L);
+
+        assertThat(stockGate.tryAcquire(1L, 5)).isEqualTo(RedisStockGate.GateResult.ADMITTED);
+    }
+
+    @Test
+    public void testTryAcquire_LastUnitIsAdmitted() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(0L);
+
+        assertThat(stockGate.tryAcquire(1L, 5)).isEqualTo(RedisStockGate.GateResult.ADMITTED);
+    }
+
+    @Test
+    public void testTryAcquire_SoldOut() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(-1L);
+
+        assertThat(stockGate.tryAcquire(1L, 5)).isEqualTo(RedisStockGate.GateResult.SOLD_OUT);
+    }
+
+    @Test
+    public void testTryAcquire_NoCounter() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(-2L);
+
+        assertThat(stockGate.tryAcquire(1L, 5)).isEqualTo(RedisStockGate.GateResult.NOT_TRACKED);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testTryAcquire_ScriptTakesQuantityFromItemCounter() {
+        ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+
+        stockGate.tryAcquire(1L, 5);
+
+        // KEYS[1] is the item's counter, ARGV[1] the requested quantity
+        verify(redisTemplate).execute(script.capture(), eq(List.of("inventory_stock:1")), eq(5L));
+        assertThat(script.getValue().getResultType()).isEqualTo(Long.class);
+        assertThat(script.getValue().getScriptAsString())
+                .contains("redis.call('GET', KEYS[1])")
+                .contains("return -2")
+                .contains("local requested = tonumber(ARGV[1])")
+                .contains("return -1")
+                .contains("redis.call('DECRBY', KEYS[1], requested)");
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testRelease_ScriptOnlyIncrementsExistingCounter() {
+        ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+
+        stockGate.release(1L, 5);
+
+        verify(redisTemplate).execute(script.capture(), eq(List.of("inventory_stock:1")), eq(5L));
+        assertThat(script.getValue().getResultType()).isEqualTo(Long.class);
+        assertThat(script.getValue().getScriptAsString())
+                .contains("redis.call('EXISTS', KEYS[1]) == 0")
+                .contains("return -2")
+                .contains("redis.call('INCRBY', KEYS[1], tonumber(ARGV[1]))")
+                .doesNotContain("'SET'");
+    }
+
+    @Test
+    public void testSeed_DoesNotOverwriteExistingCounter() {
+        stockGate.seed(1L, 10);
+
+        verify(valueOperations).setIfAbsent("inventory_stock:1", 10L);
+        verify(valueOperations, never()).set(any(), any());
+    }
+
+    @Test
+    public void testReconcile_SkipsWhenNothingTracked() {
+        stockGate.reconcile();
+
+        verifyNoInteractions(inventoryItemRepository);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testAdjustExisting_AppliesDeltasToSeededCountersOnly() {
+        ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+
+        stockGate.adjustExisting(Map.of(1L, -3));
+
+        verify(redisTemplate).execute(script.capture(), eq(List.of("inventory_stock:1")), eq(-3L));
+        assertThat(script.getValue().getScriptAsString())
+                .contains("redis.call('EXISTS', key) == 1")
+                .contains("redis.call('INCRBY', key, tonumber(ARGV[i]))")
+                .doesNotContain("'SET'");
+    }
+
+    @Test
+    public void testTryAcquire_NoCounterStopsTracking() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(3L, -2L);
+
+        stockGate.tryAcquire(1L, 5);
+        assertThat(stockGate.isTracked(1L)).isTrue();
+
+        stockGate.tryAcquire(1L, 5);
+        assertThat(stockGate.isTracked(1L)).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testReconcile_SetsOnlyCountersUnchangedSinceTheyWereRead() {
+        stockGate.seed(1L, 10);
+        stockGate.seed(2L, 10);
+        stockGate.seed(3L, 10);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            return keys.stream().map(key -> key.equals("inventory_stock:3") ? null : 4L).toList();
+        });
+        when(inventoryItemRepository.findByItemIdIn(anyList())).thenReturn(List.of(item(1L, 4), item(2L, 7), item(3L, 7)));
+        ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+
+        stockGate.reconcile();
+
+        // Item 1 already matches Postgres and item 3 lost its counter, so only item 2 goes to the script
+        verify(redisTemplate).execute(script.capture(), eq(List.of("inventory_stock:2")), eq(4L), eq(7L));
+        assertThat(script.getValue().getScriptAsString())
+                .contains("redis.call('GET', key) == ARGV[2 * i - 1]")
+                .contains("redis.call('SET', key, ARGV[2 * i])");
+        assertThat(stockGate.isTracked(3L)).isFalse();
+    }
+
+    private static InventoryItem item(Long itemId, int availableQuantity) {
+        InventoryItem inventoryItem = new InventoryItem();
+        inventoryItem.setItemId(itemId);
+        inventoryItem.setTotalQuantity(availableQuantity);
+        inventoryItem.setReservedQuantity(0);
+        return inventoryItem;
+    }
+}
@@ -0,0 +1,130 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ReservationCombinerTest {
+    private InventoryProperties.Combining combining;
+    private List<Integer> batchSizes;
+
+    @BeforeEach
+    public void setUp() {
+        combining = new InventoryProperties.Combining();
+        combining.setWindow(Duration.ofMillis(300));
+        batchSizes = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    public void testReserve_ConcurrentCallersShareABatch() throws Exception {
+        ReservationCombiner combiner = new ReservationCombiner(combining, this::tokenPerCaller);
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String reservedBy = "user" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return combiner.reserve(1L, 1, reservedBy);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < callers; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("token-user" + i);
+        }
+        executor.shutdown();
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(callers);
+        assertThat(batchSizes.size()).isLessThan(callers);
+    }
+
+    @Test
+    public void testReserve_FullBatchDoesNotWaitForWindow() {
+        combining.setWindow(Duration.ofMinutes(1));
+        combining.setMaxBatchSize(1);
+        ReservationCombiner combiner = new ReservationCombiner(combining, this::tokenPerCaller);
+
+        String token = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> combiner.reserve(1L, 1, "user1"));
+
+        assertThat(token).isEqualTo("token-user1");
+        assertThat(batchSizes).containsExactly(1);
+    }
+
+    @Test
+    public void testReserve_HandlerFailureReachesCaller() {
+        combining.setWindow(Duration.ZERO);
+        ReservationCombiner combiner = new ReservationCombiner(combining, (itemId, reservations) -> {
+            throw new ResourceNotFoundException("Product not found with id " + itemId);
+        });
+
+        assertThatThrownBy(() -> combiner.reserve(1L, 1, "user1"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Product not found with id 1");
+    }
+
+    @Test
+    public void testReserve_HandlerErrorReachesEveryCaller() throws Exception {
+        combining.setMaxBatchSize(2);
+        combining.setWindow(Duration.ofSeconds(1));
+        ReservationCombiner combiner = new ReservationCombiner(combining, (itemId, reservations) -> {
+            throw new OutOfMemoryError("boom");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            String reservedBy = "user" + i;
+            results.add(executor.submit(() -> combiner.reserve(1L, 1, reservedBy)));
+        }
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void testReserve_MissingTokenFailsInsteadOfBlocking() {
+        combining.setWindow(Duration.ZERO);
+        ReservationCombiner combiner = new ReservationCombiner(combining, (itemId, reservations) -> List.of());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThatThrownBy(() -> combiner.reserve(1L, 1, "user1"))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessage("Batch handler returned fewer tokens than reservations for item 1"));
+    }
+
+    @Test
+    public void testReserve_NextBatchStartsAfterPreviousClosed() {
+        combining.setWindow(Duration.ZERO);
+        ReservationCombiner combiner = new ReservationCombiner(combining, this::tokenPerCaller);
+
+        assertThat(combiner.reserve(1L, 1, "user1")).isEqualTo("token-user1");
+        assertThat(combiner.reserve(1L, 1, "user2")).isEqualTo("token-user2");
+        assertThat(batchSizes).containsExactly(1, 1);
+    }
+
+    private List<String> tokenPerCaller(Long itemId, List<ReservationCombiner.PendingReservation> reservations) {
+        batchSizes.add(reservations.size());
+        List<String> tokens = new ArrayList<>();
+        for (ReservationCombiner.PendingReservation reservation : reservations) {
+            tokens.add("token-" + reservation.getReservedBy());
+        }
+        return tokens;
+    }
+}
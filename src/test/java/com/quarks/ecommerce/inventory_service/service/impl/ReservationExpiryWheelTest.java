@@ -0,0 +1,63 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationExpiryWheelTest {
+
+    private static final long START = 1_000_000L;
+    private static final UUID TOKEN_1 = ReservationTokens.next();
+    private static final UUID TOKEN_2 = ReservationTokens.next();
+
+    private final ReservationExpiryWheel wheel = new ReservationExpiryWheel(100, 8);
+
+    @Test
+    public void testAdvance_ReturnsTokensOnceDue() {
+        wheel.advance(START);
+        wheel.schedule(TOKEN_1, at(START + 350));
+
+        assertThat(wheel.advance(START + 200)).isEmpty();
+        assertThat(wheel.advance(START + 300)).isEmpty();
+        assertThat(wheel.advance(START + 400)).containsExactly(TOKEN_1);
+        assertThat(wheel.advance(START + 500)).isEmpty();
+    }
+
+    @Test
+    public void testAdvance_DeadlineBeyondOneRotation() {
+        wheel.advance(START);
+        wheel.schedule(TOKEN_1, at(START + 2_050));
+
+        for (long now = START + 100; now < START + 2_000; now += 100) {
+            assertThat(wheel.advance(now)).isEmpty();
+        }
+        assertThat(wheel.advance(START + 2_100)).containsExactly(TOKEN_1);
+    }
+
+    @Test
+    public void testAdvance_SkippedTicksStillExpire() {
+        wheel.advance(START);
+        wheel.schedule(TOKEN_1, at(START + 250));
+        wheel.schedule(TOKEN_2, at(START + 5_000));
+
+        assertThat(wheel.advance(START + 3_000)).containsExactly(TOKEN_1);
+        assertThat(wheel.advance(START + 5_000)).containsExactly(TOKEN_2);
+    }
+
+    @Test
+    public void testAdvance_PastDeadlineExpiresImmediately() {
+        wheel.advance(START);
+        wheel.schedule(TOKEN_1, at(START - 1_000));
+
+        assertThat(wheel.advance(START + 100)).containsExactly(TOKEN_1);
+    }
+
+    private static LocalDateTime at(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
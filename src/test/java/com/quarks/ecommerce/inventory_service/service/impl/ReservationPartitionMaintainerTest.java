@@ -0,0 +1,94 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReservationPartitionMaintainerTest {
+    // A Wednesday
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 18);
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 16);
+
+    private ReservationRepository reservationRepository;
+    private InventoryProperties inventoryProperties;
+    private ReservationPartitionMaintainer maintainer;
+    private final TreeMap<LocalDate, LocalDate> partitions = new TreeMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        inventoryProperties = new InventoryProperties();
+        inventoryProperties.getReservation().getArchive().setArchiveAfter(Duration.ofDays(7));
+        maintainer = new ReservationPartitionMaintainer(reservationRepository, mock(PlatformTransactionManager.class), inventoryProperties);
+        when(reservationRepository.findPartitions()).thenReturn(partitions);
+    }
+
+    @Test
+    public void testPartitionStart_AlignedToMondays() {
+        assertThat(ReservationPartitionMaintainer.partitionStart(TODAY, 7)).isEqualTo(MONDAY);
+        assertThat(ReservationPartitionMaintainer.partitionStart(MONDAY, 7)).isEqualTo(MONDAY);
+        assertThat(ReservationPartitionMaintainer.partitionStart(TODAY, 1)).isEqualTo(TODAY);
+    }
+
+    @Test
+    public void testCreatePartitions_CreatesCurrentAndAheadOnlyWhenMissing() {
+        partitions.put(MONDAY, MONDAY.plusDays(7));
+
+        maintainer.createPartitions(TODAY);
+
+        verify(reservationRepository).createPartition(MONDAY.plusDays(7), MONDAY.plusDays(14));
+        verify(reservationRepository).createPartition(MONDAY.plusDays(14), MONDAY.plusDays(21));
+        verify(reservationRepository, times(2)).createPartition(any(), any());
+    }
+
+    @Test
+    public void testCreatePartitions_SkipsRangesOverlappingOlderLayout() {
+        inventoryProperties.getReservation().getArchive().setPartitionsAhead(0);
+        // Left over from a time partitions were a day long
+        partitions.put(MONDAY.plusDays(3), MONDAY.plusDays(4));
+
+        maintainer.createPartitions(TODAY);
+
+        verify(reservationRepository, never()).createPartition(any(), any());
+    }
+
+    @Test
+    public void testArchivePartitions_OnlyPartitionsPastTheCutoff() {
+        LocalDate old = MONDAY.minusDays(21);
+        LocalDate open = MONDAY.minusDays(14);
+        partitions.put(old, old.plusDays(7));
+        partitions.put(open, open.plusDays(7));
+        partitions.put(MONDAY.minusDays(7), MONDAY);
+        when(reservationRepository.archivePartition(old, old.plusDays(7))).thenReturn(120L);
+        when(reservationRepository.archivePartition(open, open.plusDays(7))).thenReturn(-1L);
+
+        maintainer.archivePartitions(TODAY);
+
+        verify(reservationRepository).archivePartition(old, old.plusDays(7));
+        verify(reservationRepository).archivePartition(open, open.plusDays(7));
+        verify(reservationRepository, never()).archivePartition(MONDAY.minusDays(7), MONDAY);
+    }
+
+    @Test
+    public void testArchivePartitions_FailureMovesOnToNextPartition() {
+        LocalDate first = MONDAY.minusDays(35);
+        LocalDate second = MONDAY.minusDays(28);
+        partitions.put(first, first.plusDays(7));
+        partitions.put(second, second.plusDays(7));
+        when(reservationRepository.archivePartition(first, first.plusDays(7))).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        maintainer.archivePartitions(TODAY);
+
+        verify(reservationRepository).archivePartition(second, second.plusDays(7));
+    }
+}
@@ -0,0 +1,59 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationTokensTest {
+
+    @Test
+    public void testNext_IsVersion7WithTimestampPrefix() {
+        long now = 1_721_000_000_000L;
+
+        UUID token = ReservationTokens.next(now);
+
+        assertThat(token.version()).isEqualTo(7);
+        assertThat(token.variant()).isEqualTo(2);
+        assertThat(token.getMostSignificantBits() >>> 16).isEqualTo(now);
+    }
+
+    @Test
+    public void testNext_LaterTokensSortAfterEarlierOnes() {
+        UUID earlier = ReservationTokens.next(1_721_000_000_000L);
+        UUID later = ReservationTokens.next(1_721_000_000_001L);
+
+        // Postgres orders uuid columns by their unsigned bytes, which is the order of the canonical strings
+        assertThat(later.toString()).isGreaterThan(earlier.toString());
+        assertThat(ReservationTokens.next(1_721_000_000_000L)).isNotEqualTo(earlier);
+    }
+
+    @Test
+    public void testCreatedAt_IsTheTokenTimestamp() {
+        long now = 1_721_000_000_123L;
+
+        LocalDateTime createdAt = ReservationTokens.createdAt(ReservationTokens.next(now));
+
+        assertThat(createdAt.atZone(ZoneId.systemDefault()).toInstant()).isEqualTo(Instant.ofEpochMilli(now));
+    }
+
+    @Test
+    public void testParse_RoundTripsCanonicalForm() {
+        UUID token = ReservationTokens.next();
+
+        assertThat(ReservationTokens.parse(token.toString())).isEqualTo(token);
+    }
+
+    @Test
+    public void testParse_RejectsMalformedTokens() {
+        assertThat(ReservationTokens.parse(null)).isNull();
+        assertThat(ReservationTokens.parse("token123")).isNull();
+        // UUID.fromString accepts short groups, the API only ever hands out the canonical form
+        assertThat(ReservationTokens.parse("1-2-3-4-5")).isNull();
+        assertThat(ReservationTokens.parse("0190f5a2-3c4d-7e8f-9a0b-1c2d3e4f5a6z")).isNull();
+    }
+}
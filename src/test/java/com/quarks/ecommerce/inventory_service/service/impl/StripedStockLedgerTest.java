@@ -0,0 +1,94 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockLedgerTest {
+
+    @Test
+    public void testReserveAndRelease() {
+        StripedStockLedger ledger = new StripedStockLedger(4);
+        ledger.put(101L, 10, 2);
+
+        assertThat(ledger.reserve(101L, 5)).isEqualTo(3);
+        assertThat(ledger.reserve(101L, 4)).isEqualTo(StripedStockLedger.INSUFFICIENT_STOCK);
+        assertThat(ledger.release(101L, 5)).isEqualTo(8);
+        assertThat(ledger.addSupply(101L, 2)).isEqualTo(10);
+        assertThat(ledger.available(101L)).isEqualTo(10);
+    }
+
+    @Test
+    public void testUnknownItem() {
+        StripedStockLedger ledger = new StripedStockLedger(4);
+
+        assertThat(ledger.reserve(7L, 1)).isEqualTo(StripedStockLedger.UNKNOWN_ITEM);
+        assertThat(ledger.available(7L)).isEqualTo(StripedStockLedger.UNKNOWN_ITEM);
+        assertThat(ledger.snapshot(7L, new int[2])).isFalse();
+    }
+
+    @Test
+    public void testGrowsPastInitialCapacity() {
+        StripedStockLedger ledger = new StripedStockLedger(2);
+        for (long itemId = 1; itemId <= 10_000; itemId++) {
+            ledger.put(itemId, (int) itemId, 0);
+        }
+
+        for (long itemId = 1; itemId <= 10_000; itemId++) {
+            assertThat(ledger.available(itemId)).isEqualTo((int) itemId);
+        }
+    }
+
+    @Test
+    public void testReserveAllIsAllOrNothing() {
+        StripedStockLedger ledger = new StripedStockLedger(8);
+        ledger.put(1L, 10, 0);
+        ledger.put(2L, 3, 0);
+
+        assertThat(ledger.reserveAll(new long[]{1L, 2L, 2L}, new int[]{4, 2, 2})).isEqualTo(StripedStockLedger.INSUFFICIENT_STOCK);
+        assertThat(ledger.available(1L)).isEqualTo(10);
+        assertThat(ledger.available(2L)).isEqualTo(3);
+
+        assertThat(ledger.reserveAll(new long[]{1L, 2L, 2L}, new int[]{4, 2, 1})).isZero();
+        assertThat(ledger.available(1L)).isEqualTo(6);
+        assertThat(ledger.available(2L)).isZero();
+
+        assertThat(ledger.reserveAll(new long[]{1L, 99L}, new int[]{1, 1})).isEqualTo(StripedStockLedger.UNKNOWN_ITEM);
+        assertThat(ledger.available(1L)).isEqualTo(6);
+    }
+
+    @Test
+    public void testConcurrentReservationsNeverOversell() throws InterruptedException {
+        StripedStockLedger ledger = new StripedStockLedger(16);
+        ledger.put(1L, 1_000, 0);
+        ledger.put(2L, 1_000, 0);
+
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 16; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 500; j++) {
+                    if (ledger.reserveAll(new long[]{1L, 2L}, new int[]{1, 1}) == 0) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved.get()).isEqualTo(1_000);
+        assertThat(ledger.available(1L)).isZero();
+        assertThat(ledger.available(2L)).isZero();
+    }
+}
@@ -0,0 +1,182 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyMergeResultDto;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+class SupplyAggregatorTest {
+    private InventoryItemRepository inventoryItemRepository;
+    private AvailabilityCachePublisher cachePublisher;
+    private InventoryProperties inventoryProperties;
+    private SupplyAggregator aggregator;
+    private final List<List<CreateSupplyRequestDto>> statements = new ArrayList<>();
+    private final Map<Long, Integer> stock = new HashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        inventoryItemRepository = mock(InventoryItemRepository.class);
+        cachePublisher = mock(AvailabilityCachePublisher.class);
+        inventoryProperties = new InventoryProperties();
+        inventoryProperties.getSupplyAggregation().setQueueCapacity(4);
+        inventoryProperties.getSupplyAggregation().setMaxBatchSize(3);
+        aggregator = new SupplyAggregator(inventoryItemRepository, mock(PlatformTransactionManager.class), cachePublisher,
+                mock(RedisStockGate.class), inventoryProperties);
+        when(inventoryItemRepository.addSupplies(anyCollection(), any())).thenAnswer(this::addSupplies);
+    }
+
+    private Map<Long, Integer> addSupplies(InvocationOnMock invocation) {
+        Collection<CreateSupplyRequestDto> supplies = invocation.getArgument(0);
+        statements.add(List.copyOf(supplies));
+        Map<Long, Integer> availabilities = new HashMap<>();
+        supplies.forEach(supply -> availabilities.put(supply.getItemId(), stock.merge(supply.getItemId(), supply.getQuantity(), Integer::sum)));
+        return availabilities;
+    }
+
+    @Test
+    public void testFlush_MergesDeltasPerItemIntoOneStatement() {
+        CompletableFuture<SupplyMergeResultDto> first = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 10));
+        CompletableFuture<SupplyMergeResultDto> second = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 5));
+        CompletableFuture<SupplyMergeResultDto> other = aggregator.submit(new CreateSupplyRequestDto(2L, "Tablet", 3));
+
+        assertThat(first).isNotDone();
+        aggregator.flush();
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).extracting(CreateSupplyRequestDto::getItemId, CreateSupplyRequestDto::getQuantity)
+                .containsExactly(tuple(1L, 15), tuple(2L, 3));
+        assertThat(first.join()).isSameAs(second.join());
+        assertThat(first.join().getDeltasMerged()).isEqualTo(2);
+        assertThat(first.join().getQuantityAdded()).isEqualTo(15);
+        assertThat(first.join().getAvailableQuantity()).isEqualTo(15);
+        assertThat(other.join().getAvailableQuantity()).isEqualTo(3);
+        verify(cachePublisher).publishAll(Map.of(1L, 15, 2L, 3));
+    }
+
+    @Test
+    public void testFlush_DrainsMoreThanOneBatch() {
+        for (int i = 0; i < 4; i++) {
+            aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 1));
+        }
+
+        aggregator.flush();
+
+        assertThat(statements).hasSize(2);
+        assertThat(stock).containsEntry(1L, 4);
+        assertThat(aggregator.queued()).isZero();
+    }
+
+    @Test
+    public void testSubmit_RefusesWhenQueueIsFull() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 1))).isNotNull();
+        }
+
+        assertThat(aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 1))).isNull();
+    }
+
+    @Test
+    public void testSubmit_RejectsVersionedDelta() {
+        CreateSupplyRequestDto supply = new CreateSupplyRequestDto(1L, "Phone", 1);
+        supply.setVersion(3L);
+
+        assertThatThrownBy(() -> aggregator.submit(supply)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testFlush_MergedQuantityPastIntRangeGoesIntoSecondStatement() {
+        CompletableFuture<SupplyMergeResultDto> first = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", Integer.MAX_VALUE - 1));
+        CompletableFuture<SupplyMergeResultDto> second = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 2));
+        // doAnswer so stubbing does not run the recording answer from setUp
+        doAnswer(invocation -> {
+            Collection<CreateSupplyRequestDto> supplies = invocation.getArgument(0);
+            statements.add(List.copyOf(supplies));
+            return Map.of(1L, 0);
+        }).when(inventoryItemRepository).addSupplies(anyCollection(), any());
+
+        aggregator.flush();
+
+        assertThat(statements).extracting(statement -> statement.get(0).getQuantity()).containsExactly(Integer.MAX_VALUE - 1, 2);
+        assertThat(first.join().getQuantityAdded()).isEqualTo(Integer.MAX_VALUE - 1);
+        assertThat(second.join().getQuantityAdded()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFlush_TransientFailureKeepsDeltasForNextFlush() {
+        when(inventoryItemRepository.addSupplies(anyCollection(), any()))
+                .thenThrow(new QueryTimeoutException("lock timeout"))
+                .thenAnswer(this::addSupplies);
+        CompletableFuture<SupplyMergeResultDto> first = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 1));
+        CompletableFuture<SupplyMergeResultDto> second = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 2));
+
+        aggregator.flush();
+
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        CompletableFuture<SupplyMergeResultDto> later = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 4));
+
+        aggregator.flush();
+
+        assertThat(first.join().getQuantityAdded()).isEqualTo(3);
+        assertThat(later.join().getQuantityAdded()).isEqualTo(4);
+        assertThat(stock).containsEntry(1L, 7);
+    }
+
+    @Test
+    public void testFlush_TransientFailureFailsDeltasOutOfAttempts() {
+        inventoryProperties.getSupplyAggregation().setMaxAttempts(2);
+        aggregator = new SupplyAggregator(inventoryItemRepository, mock(PlatformTransactionManager.class), cachePublisher,
+                mock(RedisStockGate.class), inventoryProperties);
+        when(inventoryItemRepository.addSupplies(anyCollection(), any())).thenThrow(new QueryTimeoutException("lock timeout"));
+        CompletableFuture<SupplyMergeResultDto> result = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 1));
+
+        aggregator.flush();
+        assertThat(result).isNotDone();
+        aggregator.flush();
+
+        assertThat(result).isCompletedExceptionally();
+        aggregator.flush();
+        verify(inventoryItemRepository, times(2)).addSupplies(anyCollection(), any());
+    }
+
+    @Test
+    public void testFlushOnShutdown_FailsDeltasThatCouldNotBeWritten() {
+        when(inventoryItemRepository.addSupplies(anyCollection(), any())).thenThrow(new QueryTimeoutException("lock timeout"));
+        CompletableFuture<SupplyMergeResultDto> result = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 1));
+
+        aggregator.flushOnShutdown();
+
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testFlush_FailedStatementFailsEveryDelta() {
+        when(inventoryItemRepository.addSupplies(anyCollection(), any())).thenThrow(new DataIntegrityViolationException("boom"));
+        CompletableFuture<SupplyMergeResultDto> result = aggregator.submit(new CreateSupplyRequestDto(1L, "Phone", 1));
+
+        aggregator.flush();
+        aggregator.flush();
+
+        assertThat(result).isCompletedExceptionally();
+        verify(inventoryItemRepository, times(1)).addSupplies(anyCollection(), any());
+        verify(cachePublisher, never()).publishAll(any());
+    }
+}
@@ -0,0 +1,160 @@
+package com.quarks.ecommerce.inventory_service.service.impl;
+
+import com.quarks.ecommerce.inventory_service.config.InventoryProperties;
+import com.quarks.ecommerce.inventory_service.dto.CreateSupplyRequestDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyImportErrorDto;
+import com.quarks.ecommerce.inventory_service.dto.SupplyImportResultDto;
+import com.quarks.ecommerce.inventory_service.repository.InventoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SupplyImporterTest {
+    private InventoryItemRepository inventoryItemRepository;
+    private AvailabilityCachePublisher cachePublisher;
+    private RedisStockGate stockGate;
+    private InventoryProperties inventoryProperties;
+    private SupplyImporter importer;
+    private final List<List<CreateSupplyRequestDto>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        inventoryItemRepository = mock(InventoryItemRepository.class);
+        cachePublisher = mock(AvailabilityCachePublisher.class);
+        stockGate = mock(RedisStockGate.class);
+        inventoryProperties = new InventoryProperties();
+        inventoryProperties.getSupplyImport().setChunkSize(2);
+        importer = new SupplyImporter(inventoryItemRepository, mock(PlatformTransactionManager.class), cachePublisher, stockGate, inventoryProperties);
+        when(inventoryItemRepository.upsertSupplies(anyList(), any())).thenAnswer(invocation -> {
+            List<CreateSupplyRequestDto> chunk = invocation.getArgument(0);
+            chunks.add(List.copyOf(chunk));
+            Map<Long, Integer> availabilities = new HashMap<>();
+            chunk.forEach(supply -> availabilities.merge(supply.getItemId(), supply.getQuantity(), Integer::sum));
+            return availabilities;
+        });
+    }
+
+    @Test
+    public void testImportCsv_WritesInChunksAndPublishesAvailability() {
+        SupplyImportResultDto result = importer.importSupplies(input("""
+                itemId,name,quantity
+                1,"Phone, 128GB",10
+                2,Tablet,5
+                1,"Phone, 128GB",3
+                """), SupplyImporter.Format.CSV);
+
+        assertThat(result.getStatus()).isEqualTo(SupplyImportResultDto.Status.COMPLETED);
+        assertThat(result.getRowsImported()).isEqualTo(3);
+        assertThat(result.getChunksCommitted()).isEqualTo(2);
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).extracting(CreateSupplyRequestDto::getName).containsExactly("Phone, 128GB", "Tablet");
+        verify(cachePublisher).publishAll(Map.of(1L, 10, 2L, 5));
+        verify(cachePublisher).publishAll(Map.of(1L, 3));
+        verify(stockGate, never()).adjustExisting(any());
+    }
+
+    @Test
+    public void testImportCsv_ReportsBadRowsAndKeepsGoing() {
+        SupplyImportResultDto result = importer.importSupplies(input("""
+                itemId,name,quantity
+                1,Phone,ten
+                2,,5
+                3,Laptop,-1
+                4,Monitor,7
+                """), SupplyImporter.Format.CSV);
+
+        assertThat(result.getStatus()).isEqualTo(SupplyImportResultDto.Status.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(4);
+        assertThat(result.getRowsRejected()).isEqualTo(3);
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(SupplyImportErrorDto::getLine).containsExactly(2L, 3L, 4L);
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("name is missing");
+        assertThat(chunks).singleElement().satisfies(chunk ->
+                assertThat(chunk).extracting(CreateSupplyRequestDto::getItemId).containsExactly(4L));
+    }
+
+    @Test
+    public void testImportNdjson_AddsSupplyToExistingGateCounters() {
+        when(stockGate.isEnabled()).thenReturn(true);
+
+        SupplyImportResultDto result = importer.importSupplies(input("""
+                {"itemId":1,"name":"Phone","quantity":10}
+                {"itemId":"x","name":"Tablet","quantity":5}
+                {"itemId":2,"name":"Tablet","quantity":5,"warehouse":"north"}
+                """), SupplyImporter.Format.NDJSON);
+
+        assertThat(result.getRowsImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(SupplyImportErrorDto::getLine).containsExactly(2L);
+        verify(stockGate).adjustExisting(Map.of(1L, 10, 2L, 5));
+    }
+
+    @Test
+    public void testImportNdjson_RejectsMalformedLineAndKeepsGoing() {
+        SupplyImportResultDto result = importer.importSupplies(input("""
+                {"itemId":1,"name":"Phone","quantity":10}
+                {"itemId":2,"name":"Tablet",
+
+                {"itemId":3,"name":"Laptop","quantity":4}
+                """), SupplyImporter.Format.NDJSON);
+
+        assertThat(result.getStatus()).isEqualTo(SupplyImportResultDto.Status.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(3);
+        assertThat(result.getRowsImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(SupplyImportErrorDto::getLine).containsExactly(2L);
+        assertThat(chunks).singleElement().satisfies(chunk ->
+                assertThat(chunk).extracting(CreateSupplyRequestDto::getItemId).containsExactly(1L, 3L));
+    }
+
+    @Test
+    public void testImport_ReportsRowsOfOverflowingItems() {
+        when(inventoryItemRepository.upsertSupplies(anyList(), any())).thenReturn(Map.of(2L, 5));
+
+        SupplyImportResultDto result = importer.importSupplies(input("""
+                itemId,name,quantity
+                1,Phone,2147483647
+                2,Tablet,5
+                """), SupplyImporter.Format.CSV);
+
+        assertThat(result.getStatus()).isEqualTo(SupplyImportResultDto.Status.COMPLETED);
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getRowsRejected()).isEqualTo(1);
+        assertThat(result.getItemsUpserted()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(SupplyImportErrorDto::getLine).containsExactly(2L);
+    }
+
+    @Test
+    public void testImport_FailureKeepsCommittedChunks() {
+        when(inventoryItemRepository.upsertSupplies(anyList(), any()))
+                .thenReturn(Map.of(1L, 1, 2L, 1))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        SupplyImportResultDto result = importer.importSupplies(input("""
+                itemId,name,quantity
+                1,A,1
+                2,B,1
+                3,C,1
+                """), SupplyImporter.Format.CSV);
+
+        assertThat(result.getStatus()).isEqualTo(SupplyImportResultDto.Status.FAILED);
+        assertThat(result.getChunksCommitted()).isEqualTo(1);
+        assertThat(result.getRowsImported()).isEqualTo(2);
+        assertThat(result.getFailure()).isEqualTo("value too long");
+        assertThat(importer.imports()).extracting(SupplyImportResultDto::getImportId).containsExactly(result.getImportId());
+    }
+
+    private static InputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}